@@ -2,19 +2,39 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.auth.ApiResponse;
 import com.example.backend.dto.metro.MetroPositionResponse;
-import com.example.backend.dto.metro.TrainPosition;
+import com.example.backend.dto.metro.MetroStreamEvent;
+import com.example.backend.dto.station.StationArrivalDto;
+import com.example.backend.service.MetroArrivalIndex;
 import com.example.backend.service.MetroPositionService;
 import com.example.backend.service.MetroCacheService;
+import com.example.backend.service.MetroDeltaService;
+import com.example.backend.service.MetroDemandTracker;
+import com.example.backend.service.MetroHistoryStore;
+import com.example.backend.service.MetroResponseRenderer;
 import com.example.backend.service.MetroStationFilter;
+import com.example.backend.service.MetroStreamService;
+import com.example.backend.service.MetroTrajectoryService;
 import com.example.backend.service.MetroDataScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -32,21 +52,59 @@ public class MetroController {
     private final MetroCacheService metroCacheService;
     private final MetroStationFilter stationFilter;
     private final MetroDataScheduler dataScheduler;
+    private final MetroResponseRenderer responseRenderer;
+    private final MetroStreamService streamService;
+    private final MetroDeltaService deltaService;
+    private final MetroDemandTracker demandTracker;
+    private final MetroTrajectoryService trajectoryService;
+    private final MetroHistoryStore historyStore;
+    private final MetroArrivalIndex arrivalIndex;
 
     /**
      * 전체 노선 열차 위치 정보 조회
+     * since 지정 시 해당 시퀀스 이후 변경분만 반환
      */
     @GetMapping("/positions")
-    public ResponseEntity<ApiResponse> getAllPositions() {
+    public ResponseEntity<?> getAllPositions(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         try {
+            // 적응형 폴링 수요 기록
+            demandTracker.recordAllLinesView(clientKey(webRequest));
+
+            // 변경분 요청 (resync=true면 클라이언트가 전체 재조회)
+            if (since != null) {
+                return ResponseEntity.ok(ApiResponse.builder()
+                        .success(true)
+                        .message("전체 노선 위치 변경분 조회 성공")
+                        .data(deltaService.since(since, null))
+                        .build());
+            }
+
+            // 0. 사전 직렬화된 응답이 있으면 바이트 그대로 반환
+            if (responseRenderer.isEnabled()) {
+                MetroResponseRenderer.RenderedResponse rendered = responseRenderer.getAllPositions();
+                if (rendered != null) {
+                    return renderedResponse(rendered, acceptEncoding, webRequest);
+                }
+            }
+
             // 1. Redis 캐시에서 실제 API 데이터 조회 시도
             MetroCacheService.PositionCacheData cacheData = metroCacheService.getAllPositions();
 
             if (cacheData != null && metroCacheService.isCacheValid(cacheData)) {
-                MetroPositionResponse positions = convertCacheToResponse(cacheData);
+                // 갱신 버전이 같으면 304 (본문 생성/전송 생략)
+                String etag = versionEtag(MetroResponseRenderer.ALL_LINES_KEY, cacheData.getLastUpdated());
+                long lastModified = toEpochMillis(cacheData.getLastUpdated());
+                if (webRequest.checkNotModified(etag, lastModified)) {
+                    return null;
+                }
+
+                MetroPositionResponse positions = responseRenderer.toPositionResponse(cacheData);
                 log.debug("전체 노선 실시간 데이터 반환: {}대", positions.getTotalTrains());
 
-                return ResponseEntity.ok(ApiResponse.builder()
+                return conditionalOk(etag, lastModified).body(ApiResponse.builder()
                         .success(true)
                         .message("전체 노선 위치 정보 조회 성공 (실시간)")
                         .data(positions)
@@ -75,9 +133,14 @@ public class MetroController {
 
     /**
      * 특정 노선 열차 위치 정보 조회
+     * since 지정 시 해당 시퀀스 이후 변경분만 반환
      */
     @GetMapping("/positions/{lineNumber}")
-    public ResponseEntity<ApiResponse> getLinePositions(@PathVariable Integer lineNumber) {
+    public ResponseEntity<?> getLinePositions(
+            @PathVariable Integer lineNumber,
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         try {
             // 노선 번호 유효성 검사
             if (!isValidLineNumber(lineNumber)) {
@@ -87,14 +150,42 @@ public class MetroController {
                         .build());
             }
 
+            // 적응형 폴링 수요 기록
+            demandTracker.recordView(List.of(String.valueOf(lineNumber)), clientKey(webRequest));
+
+            // 변경분 요청 (resync=true면 클라이언트가 전체 재조회)
+            if (since != null) {
+                return ResponseEntity.ok(ApiResponse.builder()
+                        .success(true)
+                        .message(lineNumber + "호선 위치 변경분 조회 성공")
+                        .data(deltaService.since(since, lineNumber))
+                        .build());
+            }
+
+            // 0. 사전 직렬화된 응답이 있으면 바이트 그대로 반환
+            if (responseRenderer.isEnabled()) {
+                MetroResponseRenderer.RenderedResponse rendered =
+                        responseRenderer.getLinePositions(String.valueOf(lineNumber));
+                if (rendered != null) {
+                    return renderedResponse(rendered, acceptEncoding, webRequest);
+                }
+            }
+
             // 1. Redis 캐시에서 실제 API 데이터 조회 시도
             MetroCacheService.PositionCacheData cacheData = metroCacheService.getLinePositions(String.valueOf(lineNumber));
 
             if (cacheData != null && metroCacheService.isCacheValid(cacheData)) {
-                MetroPositionResponse positions = convertCacheToResponse(cacheData);
+                // 갱신 버전이 같으면 304 (본문 생성/전송 생략)
+                String etag = versionEtag(String.valueOf(lineNumber), cacheData.getLastUpdated());
+                long lastModified = toEpochMillis(cacheData.getLastUpdated());
+                if (webRequest.checkNotModified(etag, lastModified)) {
+                    return null;
+                }
+
+                MetroPositionResponse positions = responseRenderer.toPositionResponse(cacheData);
                 log.debug("{}호선 실시간 데이터 반환: {}대", lineNumber, positions.getTotalTrains());
 
-                return ResponseEntity.ok(ApiResponse.builder()
+                return conditionalOk(etag, lastModified).body(ApiResponse.builder()
                         .success(true)
                         .message(lineNumber + "호선 위치 정보 조회 성공 (실시간)")
                         .data(positions)
@@ -121,6 +212,171 @@ public class MetroController {
         }
     }
 
+    /**
+     * 보간 좌표가 채워진 열차 위치 조회
+     * 마지막 관측 이후 경과 시간과 학습된 구간 소요 시간으로 다음 역 방향 진행 좌표(x, y)를 추정
+     * 요청 시각마다 결과가 달라지므로 사전 렌더링/ETag 경로를 사용하지 않음
+     */
+    @GetMapping("/positions/interpolated")
+    public ResponseEntity<ApiResponse> getInterpolatedPositions(
+            @RequestParam(required = false) Integer line,
+            WebRequest webRequest) {
+        try {
+            if (line != null && !isValidLineNumber(line)) {
+                return ResponseEntity.badRequest().body(ApiResponse.builder()
+                        .success(false)
+                        .message("유효하지 않은 노선 번호입니다: " + line)
+                        .build());
+            }
+
+            // 적응형 폴링 수요 기록
+            if (line != null) {
+                demandTracker.recordView(List.of(String.valueOf(line)), clientKey(webRequest));
+            } else {
+                demandTracker.recordAllLinesView(clientKey(webRequest));
+            }
+
+            MetroCacheService.PositionCacheData cacheData = line != null
+                    ? metroCacheService.getLinePositions(String.valueOf(line))
+                    : metroCacheService.getAllPositions();
+
+            if (cacheData == null || !metroCacheService.isCacheValid(cacheData)) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .body(ApiResponse.builder()
+                                .success(false)
+                                .message("보간할 실시간 위치 데이터가 없습니다.")
+                                .data(createEmptyPositionResponse())
+                                .build());
+            }
+
+            MetroPositionResponse positions = responseRenderer.toPositionResponse(cacheData);
+            positions.setPositions(trajectoryService.interpolate(positions.getPositions(), System.currentTimeMillis()));
+
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(ApiResponse.builder()
+                            .success(true)
+                            .message("보간 위치 정보 조회 성공")
+                            .data(positions)
+                            .build());
+
+        } catch (Exception e) {
+            log.error("보간 위치 정보 조회 API 실패: {}", e.getMessage());
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(false)
+                    .message("위치 정보 조회 중 오류가 발생했습니다.")
+                    .data(createEmptyPositionResponse())
+                    .build());
+        }
+    }
+
+    /**
+     * 노선 위치 이력 기간 조회 (배차 간격 분석/리플레이용)
+     * to 생략 시 현재, from 생략 시 to 기준 1시간 전
+     */
+    @GetMapping("/history/{lineNumber}")
+    public ResponseEntity<ApiResponse> getPositionHistory(
+            @PathVariable Integer lineNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "120") int limit) {
+        if (!isValidLineNumber(lineNumber)) {
+            return ResponseEntity.badRequest().body(ApiResponse.builder()
+                    .success(false)
+                    .message("유효하지 않은 노선 번호입니다: " + lineNumber)
+                    .build());
+        }
+        if (!historyStore.isEnabled()) {
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(false)
+                    .message("위치 이력 저장이 비활성화되어 있습니다.")
+                    .build());
+        }
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(ApiResponse.builder()
+                    .success(false)
+                    .message("조회 시작 시각이 종료 시각보다 늦습니다.")
+                    .build());
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(true)
+                    .message(lineNumber + "호선 위치 이력 조회 성공")
+                    .data(historyStore.query(lineNumber, start, end, Math.max(1, limit)))
+                    .build());
+        } catch (Exception e) {
+            log.error("{}호선 위치 이력 조회 실패: {}", lineNumber, e.getMessage());
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(false)
+                    .message("위치 이력 조회 중 오류가 발생했습니다.")
+                    .build());
+        }
+    }
+
+    /**
+     * 역 도착 예정 열차 조회 (노선·방향별 가까운 순, 예: "2호선 상행")
+     * id: API 역 ID 또는 역명 (예: 1002000222, 강남)
+     */
+    @GetMapping("/stations/{id}/arrivals")
+    public ResponseEntity<ApiResponse> getStationArrivals(@PathVariable String id) {
+        try {
+            Map<String, List<StationArrivalDto>> arrivals = arrivalIndex.getArrivals(id.trim());
+            if (arrivals == null) {
+                return ResponseEntity.status(404).body(ApiResponse.builder()
+                        .success(false)
+                        .message("노선도에 없는 역입니다: " + id)
+                        .build());
+            }
+
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.builder()
+                            .success(true)
+                            .message(id + " 도착 정보 조회 성공")
+                            .data(arrivals)
+                            .build());
+
+        } catch (Exception e) {
+            log.error("{} 도착 정보 조회 API 실패: {}", id, e.getMessage());
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(false)
+                    .message("도착 정보 조회 중 오류가 발생했습니다.")
+                    .build());
+        }
+    }
+
+    /**
+     * 실시간 열차 위치 SSE 스트림 (폴링 대체)
+     * 접속 시 노선별 스냅샷, 이후 스케줄러 갱신마다 변경된 노선만 전송
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<MetroStreamEvent>>> streamPositions(
+            @RequestParam(required = false) String lines) {
+        Set<String> lineNumbers = new LinkedHashSet<>();
+        if (lines == null || lines.isBlank()) {
+            metroPositionService.getEnabledLines().forEach(line -> lineNumbers.add(String.valueOf(line)));
+        } else {
+            Arrays.stream(lines.split(","))
+                    .map(String::trim)
+                    .filter(line -> line.matches("\\d{1,2}") && isValidLineNumber(Integer.parseInt(line)))
+                    .forEach(lineNumbers::add);
+        }
+
+        if (lineNumbers.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header("X-Accel-Buffering", "no") // nginx 응답 버퍼링 비활성화
+                .body(streamService.subscribe(lineNumbers));
+    }
+
     /**
      * 프론트엔드 역 필터 정보 조회
      */
@@ -244,34 +500,61 @@ public class MetroController {
     }
 
     /**
-     * 캐시 데이터를 MetroPositionResponse로 변환
+     * 사전 직렬화된 응답 전송 (gzip 수용 시 압축본 그대로 전송)
+     * If-None-Match / If-Modified-Since 일치 시 304 반환
      */
-    private MetroPositionResponse convertCacheToResponse(MetroCacheService.PositionCacheData cacheData) {
-        List<TrainPosition> positions = cacheData.getPositions() != null ?
-                cacheData.getPositions() : List.of();
-
-        // 노선별 통계 생성
-        Map<String, Integer> lineStatistics = positions.stream()
-                .filter(pos -> pos != null && pos.getLineNumber() != null)
-                .collect(java.util.stream.Collectors.groupingBy(
-                        pos -> pos.getLineNumber().toString(),
-                        java.util.stream.Collectors.collectingAndThen(
-                                java.util.stream.Collectors.counting(),
-                                Math::toIntExact
-                        )
-                ));
+    private ResponseEntity<byte[]> renderedResponse(MetroResponseRenderer.RenderedResponse rendered,
+                                                    String acceptEncoding, WebRequest webRequest) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? rendered.getGzipEtag() : rendered.getEtag();
 
-        return MetroPositionResponse.builder()
-                .positions(positions)
-                .totalTrains(positions.size())
-                .lineStatistics(lineStatistics)
-                .lastUpdated(cacheData.getLastUpdated() != null ?
-                        cacheData.getLastUpdated() : LocalDateTime.now())
-                .nextUpdate(cacheData.getNextUpdateTime())
-                .dataSource("API") // 실제 API 데이터임을 명시
-                .realtime(true) // 실시간 데이터임을 명시
-                .systemStatus("HEALTHY")
-                .build();
+        if (webRequest.checkNotModified(etag, rendered.getLastModified())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = conditionalOk(etag, rendered.getLastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzip());
+        }
+        return builder.body(rendered.getJson());
+    }
+
+    /**
+     * 조건부 요청용 헤더 설정 (매 폴링마다 재검증하도록 no-cache)
+     */
+    private ResponseEntity.BodyBuilder conditionalOk(String etag, long lastModified) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified);
+    }
+
+    /**
+     * 캐시 갱신 시각 기반 버전 ETag
+     */
+    private String versionEtag(String key, LocalDateTime lastUpdated) {
+        return "\"" + key + "-" + toEpochMillis(lastUpdated) + "\"";
+    }
+
+    /**
+     * 시청자 식별 키 (프록시 경유 시 X-Forwarded-For 첫 주소)
+     */
+    private String clientKey(WebRequest webRequest) {
+        String forwarded = webRequest.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            return forwarded.split(",")[0].trim();
+        }
+        if (webRequest instanceof ServletWebRequest servletWebRequest) {
+            return servletWebRequest.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
     }
 
     /**
@@ -2,7 +2,12 @@ package com.example.backend.controller.admin;
 
 import com.example.backend.dto.admin.AdminStatsDTO;
 import com.example.backend.dto.admin.AdminUserDTO;
+import com.example.backend.dto.metro.MetroReplayStatus;
 import com.example.backend.entity.User;
+import com.example.backend.security.user.CustomUserDetails;
+import com.example.backend.service.AuthService;
+import com.example.backend.service.MetroPositionService;
+import com.example.backend.service.MetroReplayService;
 import com.example.backend.service.admin.AdminService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,10 +15,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -27,6 +34,9 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final MetroReplayService metroReplayService;
+    private final MetroPositionService metroPositionService;
+    private final AuthService authService;
 
     /**
      * 전체 통계 조회
@@ -105,6 +115,81 @@ public class AdminController {
         }
     }
 
+    /**
+     * 지하철 위치 리플레이 시작 (기록된 스냅샷을 실시간 경로로 재생, 재생 중 실시간 폴링 중단)
+     * POST /api/admin/metro/replay?from=2025-01-06T07:00:00&to=2025-01-06T09:00:00&speed=10&lines=1,2
+     */
+    @PostMapping("/metro/replay")
+    public ResponseEntity<?> startMetroReplay(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1") double speed,
+            @RequestParam(required = false) List<Integer> lines) {
+
+        // 권한 확인
+        User user = resolveUser(userDetails);
+        if (!adminService.isAdmin(user)) {
+            log.warn("Unauthorized admin access attempt by user: {}", user != null ? user.getUserId() : "null");
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+
+        try {
+            List<Integer> replayLines = lines != null && !lines.isEmpty()
+                    ? lines : metroPositionService.getEnabledLines();
+            MetroReplayStatus status = metroReplayService.start(from, to, speed, replayLines);
+            log.info("Metro replay started by user: {} ({} ~ {}, x{})", user.getUserId(), from, to, speed);
+            return ResponseEntity.ok(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Metro replay start failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("리플레이 시작 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 지하철 위치 리플레이 중지
+     * DELETE /api/admin/metro/replay
+     */
+    @DeleteMapping("/metro/replay")
+    public ResponseEntity<?> stopMetroReplay(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        // 권한 확인
+        User user = resolveUser(userDetails);
+        if (!adminService.isAdmin(user)) {
+            log.warn("Unauthorized admin access attempt by user: {}", user != null ? user.getUserId() : "null");
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+
+        log.info("Metro replay stopped by user: {}", user.getUserId());
+        return ResponseEntity.ok(metroReplayService.stop());
+    }
+
+    /**
+     * 지하철 위치 리플레이 진행 상태 (프레임 처리 시간/지연 포함)
+     * GET /api/admin/metro/replay
+     */
+    @GetMapping("/metro/replay")
+    public ResponseEntity<?> getMetroReplayStatus(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        // 권한 확인
+        User user = resolveUser(userDetails);
+        if (!adminService.isAdmin(user)) {
+            log.warn("Unauthorized admin access attempt by user: {}", user != null ? user.getUserId() : "null");
+            return ResponseEntity.status(403).body("관리자 권한이 필요합니다.");
+        }
+
+        return ResponseEntity.ok(metroReplayService.getStatus());
+    }
+
+    /**
+     * 인증 주체(CustomUserDetails)로 현재 사용자 조회 (미인증이면 null)
+     */
+    private User resolveUser(CustomUserDetails userDetails) {
+        return userDetails != null ? authService.getCurrentUser() : null;
+    }
+
     /**
      * 관리자 권한 확인 응답 DTO
      */
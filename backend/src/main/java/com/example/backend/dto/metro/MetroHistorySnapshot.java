@@ -0,0 +1,38 @@
+package com.example.backend.dto.metro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지하철 위치 이력 스냅샷 DTO (노선 1개, 관측 시점 1개)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetroHistorySnapshot {
+
+    /**
+     * 노선 번호
+     */
+    private Integer lineNumber;
+
+    /**
+     * 관측(스케줄러 갱신) 시각
+     */
+    private LocalDateTime observedAt;
+
+    /**
+     * 열차 수
+     */
+    private int totalTrains;
+
+    /**
+     * 열차 위치 목록 (lastUpdated = 관측 시각)
+     */
+    private List<TrainPosition> positions;
+}
@@ -60,6 +60,11 @@ public class MetroPositionResponse {
      */
     private String systemStatus;
 
+    /**
+     * 변경분 시퀀스 (다음 요청의 since 값, 실시간 데이터만 제공)
+     */
+    private Long sequence;
+
     // === 편의 메서드들 ===
 
     /**
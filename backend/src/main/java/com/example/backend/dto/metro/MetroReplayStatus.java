@@ -0,0 +1,65 @@
+package com.example.backend.dto.metro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지하철 위치 리플레이 진행 상태 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetroReplayStatus {
+
+    /**
+     * 재생 중 여부
+     */
+    private boolean running;
+
+    /**
+     * 재생 배속 (1~최대 배속)
+     */
+    private double speed;
+
+    /**
+     * 재생 대상 기간/노선
+     */
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Integer> lines;
+
+    /**
+     * 전체/재생 완료 프레임 수 (프레임 = 같은 시각에 기록된 노선 스냅샷 묶음)
+     */
+    private int totalFrames;
+    private int playedFrames;
+
+    /**
+     * 재생한 열차 위치 수
+     */
+    private long playedTrains;
+
+    /**
+     * 현재 재생 중인 기록 시각
+     */
+    private LocalDateTime currentFrameTime;
+
+    /**
+     * 프레임 처리 시간 (필터링 + 캐시 + 렌더링 + SSE 전파, ms)
+     */
+    private double avgProcessMillis;
+    private double maxProcessMillis;
+
+    /**
+     * 예정 재생 시각 대비 최대 지연 (ms) - 처리 시간이 배속을 따라가지 못하면 증가
+     */
+    private long maxLagMillis;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
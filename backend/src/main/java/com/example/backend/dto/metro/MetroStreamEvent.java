@@ -0,0 +1,53 @@
+package com.example.backend.dto.metro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지하철 위치 SSE 스트림 이벤트 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetroStreamEvent {
+
+    /**
+     * 이벤트 유형 ("SNAPSHOT": 접속 시 노선 전체, "DELTA": 갱신 시 변경분)
+     */
+    private String type;
+
+    /**
+     * 노선 번호
+     */
+    private String lineNumber;
+
+    /**
+     * 변경분 시퀀스 (클라이언트 보유 버전)
+     */
+    private Long sequence;
+
+    /**
+     * 해당 노선의 열차 위치 목록 (SNAPSHOT 전용)
+     */
+    private List<TrainPosition> positions;
+
+    /**
+     * 해당 노선 열차 수
+     */
+    private Integer totalTrains;
+
+    /**
+     * 데이터 갱신 시간
+     */
+    private LocalDateTime lastUpdated;
+
+    /**
+     * 직전 이벤트 대비 변경분 (DELTA 전용)
+     */
+    private TrainPositionDelta delta;
+}
@@ -0,0 +1,62 @@
+package com.example.backend.dto.metro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 스케줄러 갱신 간 열차 위치 변경분 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainPositionDelta {
+
+    /**
+     * 기준 시퀀스 (클라이언트가 보유한 버전)
+     */
+    private Long fromSequence;
+
+    /**
+     * 적용 후 시퀀스 (다음 요청의 since 값)
+     */
+    private Long toSequence;
+
+    /**
+     * 전체 재조회 필요 여부 (기준 시퀀스가 보관 범위를 벗어난 경우)
+     */
+    private boolean resync;
+
+    /**
+     * 역이 바뀐 열차
+     */
+    private List<TrainPosition> moved;
+
+    /**
+     * 새로 나타난 열차
+     */
+    private List<TrainPosition> appeared;
+
+    /**
+     * 사라진 열차 ID
+     */
+    private List<String> disappeared;
+
+    /**
+     * 변경분 생성 시간
+     */
+    private LocalDateTime generatedAt;
+
+    /**
+     * 변경 사항 없음 여부
+     */
+    public boolean isEmpty() {
+        return (moved == null || moved.isEmpty()) &&
+                (appeared == null || appeared.isEmpty()) &&
+                (disappeared == null || disappeared.isEmpty());
+    }
+}
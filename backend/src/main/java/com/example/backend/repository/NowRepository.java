@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -76,6 +77,12 @@ public interface NowRepository extends JpaRepository<Now, Long> {
     @Query("SELECT n FROM Now n JOIN FETCH n.page p WHERE n.character.charId = :charId")
     Optional<Now> findByCharacterIdWithPage(@Param("charId") Long charId);
 
+    /**
+     * 여러 캐릭터의 게임 진행 상태 조회 (세션 체크포인트용)
+     */
+    @Query("SELECT n FROM Now n JOIN FETCH n.page p WHERE n.character.charId IN :charIds")
+    List<Now> findByCharacterIds(@Param("charIds") Collection<Long> charIds);
+
     /**
      * 오래된 게임 세션 조회 (정리용)
      */
@@ -3,9 +3,11 @@ package com.example.backend.repository;
 import com.example.backend.entity.LogE;
 import com.example.backend.entity.OpsLogB;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -101,6 +103,15 @@ public interface OpsLogBRepository extends JpaRepository<OpsLogB, Long> {
     @Query("SELECT b FROM OpsLogB b WHERE b.character.charId = :charId AND b.loge IS NULL ORDER BY b.createdAt ASC")
     List<OpsLogB> findUnlinkedPlayLogsByCharacter(@Param("charId") Long charId);
 
+    /**
+     * 특정 캐릭터의 미연결 플레이 로그를 게임 종료 로그와 일괄 연결 (UPDATE 1회)
+     * 영속성 컨텍스트를 먼저 flush해 같은 트랜잭션에서 저장한 LogE가 반영된 뒤 실행
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE OpsLogB b SET b.loge = :loge WHERE b.character.charId = :charId AND b.loge IS NULL")
+    int linkUnlinkedPlayLogs(@Param("charId") Long charId, @Param("loge") LogE loge);
+
     /**
      * 특정 캐릭터의 미연결 플레이 로그 개수
      */
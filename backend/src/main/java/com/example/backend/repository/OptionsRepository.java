@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ public interface OptionsRepository extends JpaRepository<Options, Long> {
      */
     List<Options> findByPageId(Long pageId);
 
+    /**
+     * 여러 페이지의 선택지 일괄 조회 (스토리 그래프 적재용)
+     */
+    List<Options> findByPageIdIn(Collection<Long> pageIds);
+
     /**
      * 특정 페이지의 선택지 개수 조회
      */
@@ -0,0 +1,53 @@
+package com.example.backend.security.user;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * 요청 단위 인증 정보
+ *
+ * JwtAuthenticationFilter가 토큰 검증 시 사용자 ID/권한을 한 번 채우고, 사용자 존재 여부와
+ * 살아있는 캐릭터 ID는 요청 중 처음 조회할 때 기록해 같은 요청의 반복 조회(USER/CHARACTER)를 없앤다.
+ * 요청 범위 밖(스케줄러 등)에서는 AuthService.currentIdentity()가 empty를 반환하므로 직접 주입해 쓰지 않는다.
+ */
+@Getter
+@Component
+@RequestScope
+public class RequestIdentity {
+
+    private Long userId;
+    private String role;
+
+    // 요청 중 사용자 존재를 한 번 확인했는지 (AuthService.getCurrentUser)
+    private boolean userVerified;
+
+    // 살아있는 캐릭터 ID (characterResolved가 false면 아직 조회 전, true인데 null이면 캐릭터 없음)
+    private Long aliveCharacterId;
+    private boolean characterResolved;
+
+    public void authenticate(Long userId, String role) {
+        this.userId = userId;
+        this.role = role;
+        this.userVerified = false;
+        clearAliveCharacter();
+    }
+
+    public boolean isAuthenticated() {
+        return userId != null;
+    }
+
+    public void markUserVerified() {
+        this.userVerified = true;
+    }
+
+    public void resolveAliveCharacter(Long charId) {
+        this.aliveCharacterId = charId;
+        this.characterResolved = true;
+    }
+
+    public void clearAliveCharacter() {
+        this.aliveCharacterId = null;
+        this.characterResolved = false;
+    }
+}
@@ -36,6 +36,8 @@ public class AIStoryScheduler {
     private final StoryRepository storyRepository;
     private final PageRepository pageRepository;
     private final OptionsRepository optionsRepository;
+    private final StoryGraphCache storyGraphCache;
+    private final LeaderElectionService leaderElection;
 
     @Qualifier("llmWebClient")
     private final WebClient llmWebClient;
@@ -65,6 +67,13 @@ public class AIStoryScheduler {
             return;
         }
 
+        // 다중 노드: 리더만 생성 (LLM 호출 중복 방지)
+        if (!leaderElection.isLeader(LeaderElectionService.AI_STORY_SCHEDULER)) {
+            log.debug("리더 노드가 아님 - 스토리 생성 건너뜀");
+            return;
+        }
+        long leaderToken = leaderElection.currentToken(LeaderElectionService.AI_STORY_SCHEDULER);
+
         try {
             Station selectedStation = selectStationForGeneration();
             if (selectedStation == null) {
@@ -74,6 +83,11 @@ public class AIStoryScheduler {
             // 비동기 호출 후 구독
             requestFromLLMServer(selectedStation)
                     .doOnNext(llmResponse -> {
+                        // 생성 중(최대 수 분) 리더가 바뀌었으면 저장하지 않음 - 펜싱 토큰 재확인
+                        if (!leaderElection.isStillLeader(LeaderElectionService.AI_STORY_SCHEDULER, leaderToken)) {
+                            log.warn("Leadership lost during generation - discarding story (token={})", leaderToken);
+                            return;
+                        }
                         if (validateLLMResponse(llmResponse)) {
                             boolean saved = saveStoryToDB(selectedStation, llmResponse);
                             if (saved) {
@@ -339,6 +353,7 @@ public class AIStoryScheduler {
                 }
             }
 
+            storyGraphCache.invalidate(savedStory.getStoId());
             return true;
 
         } catch (Exception e) {
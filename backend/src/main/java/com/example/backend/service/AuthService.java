@@ -11,6 +11,7 @@ import com.example.backend.exception.TokenRefreshException;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.jwt.JwtTokenProvider;
 import com.example.backend.security.user.CustomUserDetails;
+import com.example.backend.security.user.RequestIdentity;
 import com.example.backend.util.HtmlSanitizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -28,6 +30,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
@@ -42,6 +45,7 @@ public class AuthService {
     private final RedisService redisService;
     private final HtmlSanitizer htmlSanitizer;
     private final DemoAccountConfig demoAccountConfig;
+    private final RequestIdentity requestIdentity;
 
     // Cookie 설정 상수
     private static final String REFRESH_TOKEN_COOKIE_NAME = "refreshToken";
@@ -69,6 +73,19 @@ public class AuthService {
 
     @Transactional(readOnly = true)
     public User getCurrentUser() {
+        Optional<RequestIdentity> identity = currentIdentity();
+        if (identity.isPresent()) {
+            // 요청당 첫 호출에서만 존재 확인(탈퇴 등 삭제된 사용자는 404), 이후는 USER 조회 없이 참조만 반환
+            RequestIdentity current = identity.get();
+            if (current.isUserVerified()) {
+                return userRepository.getReferenceById(current.getUserId());
+            }
+            User user = userRepository.findById(current.getUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", current.getUserId()));
+            current.markUserVerified();
+            return user;
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
@@ -76,6 +93,27 @@ public class AuthService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userDetails.getId()));
     }
 
+    /**
+     * 현재 요청의 인증 정보 (요청 범위 밖이거나 토큰 인증이 아닌 경우 empty)
+     */
+    public Optional<RequestIdentity> currentIdentity() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return Optional.empty();
+        }
+        try {
+            // 요청 중 인증 주체가 바뀐 경우(로그인 등)에는 사용하지 않음
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (!requestIdentity.isAuthenticated() || authentication == null
+                    || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)
+                    || !userDetails.getId().equals(requestIdentity.getUserId())) {
+                return Optional.empty();
+            }
+            return Optional.of(requestIdentity);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * 로그인 - HttpOnly Cookie에 Refresh Token 저장
      * 단일 세션 정책: 기존 세션 강제 종료
@@ -14,6 +14,7 @@ import com.example.backend.repository.CharacterRepository;
 import com.example.backend.repository.LogERepository;
 import com.example.backend.repository.NowRepository;
 import com.example.backend.repository.StoryRepository;
+import com.example.backend.security.user.RequestIdentity;
 import com.example.backend.service.mapper.EntityDtoMapper;
 import com.example.backend.util.HtmlSanitizer;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +42,8 @@ public class CharacterService {
     private final NowRepository nowRepository;
     private final StoryRepository storyRepository;
     private final LogERepository logERepository;
+    private final GameSessionStore gameSessionStore;
+    private final StoryGraphCache storyGraphCache;
 
     @Transactional
     public CharacterResponse createCharacter(CharacterCreateRequest request) {
@@ -68,17 +71,44 @@ public class CharacterService {
                 .build();
 
         Character savedCharacter = characterRepository.save(character);
+        authService.currentIdentity().ifPresent(identity -> identity.resolveAliveCharacter(savedCharacter.getCharId()));
 
         CharacterResponse response = entityDtoMapper.toCharacterResponse(savedCharacter);
 
         return response;
     }
 
+    /**
+     * 사용자의 살아있는 캐릭터 조회
+     * 현재 요청 사용자면 요청 내 첫 조회 결과(캐릭터 ID)를 기억해 이후에는 ID 조회(영속성 컨텍스트)로 처리
+     */
+    @Transactional(readOnly = true)
+    public Optional<Character> findAliveCharacter(User user) {
+        Optional<RequestIdentity> identity = authService.currentIdentity()
+                .filter(current -> current.getUserId().equals(user.getUserId()));
+
+        if (identity.isPresent() && identity.get().isCharacterResolved()) {
+            Long charId = identity.get().getAliveCharacterId();
+            if (charId == null) {
+                return Optional.empty();
+            }
+            // 요청 중 사망 처리된 경우 다시 조회
+            Optional<Character> resolved = characterRepository.findById(charId).filter(character -> !character.isDeleted());
+            if (resolved.isPresent()) {
+                return resolved;
+            }
+        }
+
+        Optional<Character> character = characterRepository.findByUserAndDeletedAtIsNull(user);
+        identity.ifPresent(current -> current.resolveAliveCharacter(character.map(Character::getCharId).orElse(null)));
+        return character;
+    }
+
     @Transactional(readOnly = true)
     public CharacterResponse getCurrentCharacter() {
         User currentUser = authService.getCurrentUser();
 
-        Optional<Character> characterOpt = characterRepository.findByUserAndDeletedAtIsNull(currentUser);
+        Optional<Character> characterOpt = findAliveCharacter(currentUser);
 
         if (characterOpt.isEmpty()) {
             throw new ResourceNotFoundException("Character", "user", currentUser.getUserId());
@@ -93,7 +123,7 @@ public class CharacterService {
     public Optional<CharacterResponse> getCurrentCharacterOptional() {
         User currentUser = authService.getCurrentUser();
 
-        Optional<Character> characterOpt = characterRepository.findByUserAndDeletedAtIsNull(currentUser);
+        Optional<Character> characterOpt = findAliveCharacter(currentUser);
 
         if (characterOpt.isEmpty()) {
             return Optional.empty();
@@ -111,9 +141,16 @@ public class CharacterService {
     @Transactional(readOnly = true)
     public CharacterGameStatusResponse getCharacterGameStatus() {
         User currentUser = authService.getCurrentUser();
-        Character character = characterRepository.findByUserAndDeletedAtIsNull(currentUser)
+        Character character = findAliveCharacter(currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Character", "user", currentUser.getUserId()));
 
+        // 진행 중인 게임의 최신 상태는 세션 저장소 우선 (읽기 전용 트랜잭션이라 DB에는 반영되지 않음)
+        Optional<GameSessionStore.SessionState> liveSession = gameSessionStore.find(character.getCharId());
+        liveSession.ifPresent(session -> {
+            character.setCharHealth(session.getHealth());
+            character.setCharSanity(session.getSanity());
+        });
+
         // 기본 캐릭터 정보
         boolean isAlive = !character.isDeleted();
         boolean isDying = isAlive && (character.getCharHealth() <= 20 || character.getCharSanity() <= 20);
@@ -131,7 +168,9 @@ public class CharacterService {
         if (hasActiveGame) {
             Now gameSession = activeGame.get();
             Page currentPage = gameSession.getPage();
-            currentPageNumber = currentPage.getPageNumber();
+            currentPageNumber = liveSession
+                    .map(session -> storyGraphCache.getPage(session.getStoryId(), session.getPageId()).pageNumber())
+                    .orElse(currentPage.getPageNumber());
             gameStartTime = gameSession.getCreatedAt();
 
             Story story = storyRepository.findById(currentPage.getStoId()).orElse(null);
@@ -214,6 +253,9 @@ public class CharacterService {
         Character character = characterRepository.findAliveCharacterById(charId)
                 .orElseThrow(() -> new ResourceNotFoundException("Character", "id", charId));
 
+        // 진행 중인 게임 상태를 먼저 반영해 그 값 기준으로 변경
+        gameSessionStore.evict(character);
+
         if (healthChange != null) {
             int newHealth = Math.max(0, character.getCharHealth() + healthChange);
             character.setCharHealth(newHealth);
@@ -227,6 +269,7 @@ public class CharacterService {
         checkAndProcessDeath(character);
 
         Character savedCharacter = characterRepository.save(character);
+        authService.currentIdentity().ifPresent(identity -> identity.resolveAliveCharacter(savedCharacter.getCharId()));
 
         CharacterResponse response = entityDtoMapper.toCharacterResponse(savedCharacter);
 
@@ -269,6 +312,7 @@ public class CharacterService {
 
     private void cleanupGameProgress(Character character) {
         try {
+            gameSessionStore.evict(character);
             nowRepository.deleteByCharacter(character);
         } catch (Exception e) {
             log.error("게임 진행 데이터 정리 실패: charId={}, error={}", character.getCharId(), e.getMessage(), e);
@@ -281,7 +325,7 @@ public class CharacterService {
     @Transactional(readOnly = true)
     public List<VisitedStationResponse> getVisitedStations() {
         User currentUser = authService.getCurrentUser();
-        Character character = characterRepository.findByUserAndDeletedAtIsNull(currentUser)
+        Character character = findAliveCharacter(currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Character", "user", currentUser.getUserId()));
 
         List<Object[]> results = logERepository.findVisitedStationsByCharacter(character.getCharId());
@@ -27,14 +27,15 @@ public class GameService {
     private final PageRepository pageRepository;
     private final OptionsRepository optionsRepository;
     private final NowRepository nowRepository;
-    private final CharacterRepository characterRepository;
     private final LogERepository logERepository;
-    private final LogORepository logORepository;
     private final OpsLogBRepository opsLogBRepository;
     private final CharacterService characterService;
     private final AuthService authService;
     private final StoryService storyService;
     private final EntityDtoMapper entityDtoMapper;
+    private final StoryGraphCache storyGraphCache;
+    private final GameSessionStore gameSessionStore;
+    private final PlayLogPipeline playLogPipeline;
 
     @Transactional
     public GameEnterResponse enterGameByStation(String stationName, Integer lineNumber) {
@@ -93,7 +94,7 @@ public class GameService {
         if (currentStation.getStaName().equals(requestedStation) &&
                 currentStation.getStaLine().equals(requestedLine)) {
 
-            PageResponse pageResponse = entityDtoMapper.toPageResponse(currentPage);
+            PageResponse pageResponse = toCurrentPageResponse(character, existingGame);
             CharacterResponse characterResponse = entityDtoMapper.toCharacterResponse(character);
 
             return GameEnterResponse.builder()
@@ -117,7 +118,7 @@ public class GameService {
                         currentStation.getStaName(), currentStation.getStaLine(), currentStory.getStoTitle()))
                 .resumeStoryId(currentStory.getStoId())
                 .resumeStoryTitle(currentStory.getStoTitle())
-                .currentPage(entityDtoMapper.toPageResponse(currentPage))
+                .currentPage(toCurrentPageResponse(character, existingGame))
                 .character(entityDtoMapper.toCharacterResponse(character))
                 .stationName(currentStation.getStaName())
                 .stationLine(currentStation.getStaLine())
@@ -147,6 +148,9 @@ public class GameService {
                 .build();
         nowRepository.save(gameSession);
 
+        // 이전 게임에서 남은 세션 제거 + 세대를 새 게임으로 교체 (이전 게임 세션/갱신은 이후 무시)
+        gameSessionStore.begin(character.getCharId(), gameSession.getNowId());
+
         PageResponse pageResponse = entityDtoMapper.toPageResponse(firstPage);
         CharacterResponse characterResponse = entityDtoMapper.toCharacterResponse(character);
 
@@ -174,7 +178,7 @@ public class GameService {
         Story story = storyRepository.findById(currentPage.getStoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Story", "id", currentPage.getStoId()));
 
-        PageResponse pageResponse = entityDtoMapper.toPageResponse(currentPage);
+        PageResponse pageResponse = toCurrentPageResponse(character, gameSession);
         CharacterResponse characterResponse = entityDtoMapper.toCharacterResponse(character);
 
         return GameResumeResponse.builder()
@@ -209,7 +213,7 @@ public class GameService {
         Story story = storyRepository.findById(currentPage.getStoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Story", "id", currentPage.getStoId()));
 
-        PageResponse pageResponse = entityDtoMapper.toPageResponse(currentPage);
+        PageResponse pageResponse = toCurrentPageResponse(character, gameSession.get());
         CharacterResponse characterResponse = entityDtoMapper.toCharacterResponse(character);
 
         return GameStateResponse.builder()
@@ -228,15 +232,19 @@ public class GameService {
         User currentUser = authService.getCurrentUser();
         Character character = getAliveCharacter(currentUser);
 
-        Now gameSession = nowRepository.findByCharacterIdWithPage(character.getCharId())
+        // 진행 상태는 세션 저장소, 스토리 내용(페이지/선택지)은 캐시된 그래프에서 조회
+        GameSessionStore.SessionState gameSession = gameSessionStore.load(character)
                 .orElseThrow(() -> new ResourceNotFoundException("Active Game", "characterId", character.getCharId()));
 
-        Page currentPage = gameSession.getPage();
-
-        Options selectedOption = optionsRepository.findById(optionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Option", "id", optionId));
+        StoryGraphCache.StoryGraph story = storyGraphCache.getStory(gameSession.getStoryId());
+        StoryGraphCache.PageNode currentPage = storyGraphCache.getPage(gameSession.getStoryId(), gameSession.getPageId());
 
-        if (selectedOption.getPageId() != currentPage.getPageId()) {
+        StoryGraphCache.OptionNode selectedOption = story.option(optionId);
+        if (selectedOption == null || selectedOption.pageId() != currentPage.pageId()) {
+            // 오류 경로에서만 존재 여부 확인 (없는 선택지 404 / 다른 페이지 선택지 400)
+            if (!optionsRepository.existsById(optionId)) {
+                throw new ResourceNotFoundException("Option", "id", optionId);
+            }
             throw new IllegalArgumentException("잘못된 선택지입니다.");
         }
 
@@ -249,31 +257,30 @@ public class GameService {
             ).toMillis();
         }
 
-        ChoiceEffect effect = applyChoiceEffect(character, selectedOption);
-        characterRepository.save(character);
+        ChoiceEffect effect = applyChoiceEffect(gameSession, selectedOption);
 
         // 플레이 로그 기록 (체류 시간 포함)
-        recordPlayLog(currentPage, selectedOption, durationMs);
+        recordPlayLog(character, currentPage, selectedOption, durationMs);
 
-        if (character.getCharHealth() <= 0 || character.getCharSanity() <= 0) {
+        if (gameSession.getHealth() <= 0 || gameSession.getSanity() <= 0) {
             return handleGameOver(character, gameSession, selectedOption, effect, "캐릭터 사망");
         }
 
-        Optional<Page> nextPage = determineNextPage(currentPage, selectedOption);
+        Optional<StoryGraphCache.PageNode> nextPage = determineNextPage(story, currentPage, selectedOption);
 
         if (nextPage.isEmpty()) {
             return handleStoryComplete(character, gameSession, selectedOption, effect);
         }
 
-        // 다음 페이지로 이동 및 진입 시간 업데이트
-        gameSession.setPage(nextPage.get());
+        // 다음 페이지로 이동 및 진입 시간 업데이트 (NOW/CHARACTER 반영은 체크포인트에서 일괄 처리)
+        gameSession.setPageId(nextPage.get().pageId());
         gameSession.setPageEnteredAt(LocalDateTime.now());
-        nowRepository.save(gameSession);
+        gameSessionStore.save(gameSession);
 
         recordChoice(character, selectedOption);
 
-        PageResponse nextPageResponse = entityDtoMapper.toPageResponse(nextPage.get());
-        CharacterResponse updatedCharacter = entityDtoMapper.toCharacterResponse(character);
+        PageResponse nextPageResponse = entityDtoMapper.toPageResponse(story, nextPage.get());
+        CharacterResponse updatedCharacter = entityDtoMapper.toCharacterResponse(character, gameSession);
 
         return ChoiceResultResponse.builder()
                 .success(true)
@@ -288,10 +295,11 @@ public class GameService {
     /**
      * 다음 페이지 결정 로직
      */
-    private Optional<Page> determineNextPage(Page currentPage, Options selectedOption) {
+    private Optional<StoryGraphCache.PageNode> determineNextPage(StoryGraphCache.StoryGraph story,
+                                                                StoryGraphCache.PageNode currentPage,
+                                                                StoryGraphCache.OptionNode selectedOption) {
         // 기본적으로 순차적 진행
-        long nextPageNumber = currentPage.getPageNumber() + 1;
-        return pageRepository.findByStoIdAndPageNumber(currentPage.getStoId(), nextPageNumber);
+        return story.nextPage(currentPage);
     }
 
     /**
@@ -305,7 +313,8 @@ public class GameService {
         Now gameSession = nowRepository.findByCharacter(character)
                 .orElseThrow(() -> new ResourceNotFoundException("Active Game", "characterId", character.getCharId()));
 
-        // 게임 세션 삭제
+        // 진행 중 변경분 반영 후 게임 세션 삭제
+        gameSessionStore.evict(character);
         nowRepository.deleteByCharacter(character);
 
         log.info("게임 포기: charId={}, pageId={}", character.getCharId(), gameSession.getPage().getPageId());
@@ -317,9 +326,9 @@ public class GameService {
                 .build();
     }
 
-    private ChoiceEffect applyChoiceEffect(Character character, Options option) {
-        String effectType = option.getOptEffect();
-        int amount = option.getOptAmount();
+    private ChoiceEffect applyChoiceEffect(GameSessionStore.SessionState session, StoryGraphCache.OptionNode option) {
+        String effectType = option.effect();
+        int amount = option.amount();
 
         if (effectType == null || amount == 0) {
             return ChoiceEffect.builder()
@@ -329,22 +338,22 @@ public class GameService {
                     .build();
         }
 
-        int oldHealth = character.getCharHealth();
-        int oldSanity = character.getCharSanity();
+        int oldHealth = session.getHealth();
+        int oldSanity = session.getSanity();
         String description;
 
         switch (effectType.toLowerCase()) {
             case "health":
-                int newHealth = Math.max(0, Math.min(100, character.getCharHealth() + amount));
-                character.setCharHealth(newHealth);
+                int newHealth = Math.max(0, Math.min(100, session.getHealth() + amount));
+                session.setHealth(newHealth);
                 description = amount > 0 ?
                         String.format("체력이 %d 회복되었습니다. (%d → %d)", amount, oldHealth, newHealth) :
                         String.format("체력이 %d 감소했습니다. (%d → %d)", Math.abs(amount), oldHealth, newHealth);
                 break;
 
             case "sanity":
-                int newSanity = Math.max(0, Math.min(100, character.getCharSanity() + amount));
-                character.setCharSanity(newSanity);
+                int newSanity = Math.max(0, Math.min(100, session.getSanity() + amount));
+                session.setSanity(newSanity);
                 description = amount > 0 ?
                         String.format("정신력이 %d 회복되었습니다. (%d → %d)", amount, oldSanity, newSanity) :
                         String.format("정신력이 %d 감소했습니다. (%d → %d)", Math.abs(amount), oldSanity, newSanity);
@@ -364,16 +373,17 @@ public class GameService {
     /**
      * 게임 오버 처리
      */
-    private ChoiceResultResponse handleGameOver(Character character, Now gameSession,
-                                                Options selectedOption, ChoiceEffect effect, String reason) {
-        // 게임 세션 삭제
+    private ChoiceResultResponse handleGameOver(Character character, GameSessionStore.SessionState gameSession,
+                                                StoryGraphCache.OptionNode selectedOption, ChoiceEffect effect, String reason) {
+        // 최종 상태 반영 후 게임 세션 삭제
+        gameSessionStore.finish(character, gameSession);
         nowRepository.deleteByCharacter(character);
 
         // 캐릭터 사망 처리
         characterService.killCharacter(character.getCharId());
 
         // 종료 로그 기록
-        recordGameEnd(character, gameSession.getPage(), "DEATH", reason);
+        recordGameEnd(character, gameSession.getStoryId(), "DEATH", reason);
 
         return ChoiceResultResponse.builder()
                 .success(true)
@@ -389,13 +399,14 @@ public class GameService {
     /**
      * 스토리 완료 처리
      */
-    private ChoiceResultResponse handleStoryComplete(Character character, Now gameSession,
-                                                     Options selectedOption, ChoiceEffect effect) {
-        // 게임 세션 삭제
+    private ChoiceResultResponse handleStoryComplete(Character character, GameSessionStore.SessionState gameSession,
+                                                     StoryGraphCache.OptionNode selectedOption, ChoiceEffect effect) {
+        // 최종 상태 반영 후 게임 세션 삭제
+        gameSessionStore.finish(character, gameSession);
         nowRepository.deleteByCharacter(character);
 
         // 완료 로그 기록
-        recordGameEnd(character, gameSession.getPage(), "COMPLETE", "스토리 클리어");
+        recordGameEnd(character, gameSession.getStoryId(), "COMPLETE", "스토리 클리어");
 
         CharacterResponse updatedCharacter = characterService.getCurrentCharacter();
 
@@ -411,61 +422,48 @@ public class GameService {
     }
 
 
+    /**
+     * 현재 페이지 응답 (세션 저장소에 최신 위치가 있으면 우선, 없으면 NOW 기준)
+     */
+    private PageResponse toCurrentPageResponse(Character character, Now gameSession) {
+        return gameSessionStore.find(character.getCharId())
+                .map(state -> entityDtoMapper.toPageResponse(storyGraphCache.getStory(state.getStoryId()),
+                        storyGraphCache.getPage(state.getStoryId(), state.getPageId())))
+                .orElseGet(() -> entityDtoMapper.toPageResponse(gameSession.getPage()));
+    }
+
+    private Long currentPageNumber(Now gameSession) {
+        return gameSessionStore.find(gameSession.getCharacter().getCharId())
+                .map(state -> storyGraphCache.getPage(state.getStoryId(), state.getPageId()).pageNumber())
+                .orElseGet(() -> gameSession.getPage().getPageNumber());
+    }
+
     private Character getAliveCharacter(User user) {
-        return characterRepository.findByUserAndDeletedAtIsNull(user)
+        return characterService.findAliveCharacter(user)
                 .orElseThrow(() -> new ResourceNotFoundException("Living Character", "userId", user.getUserId()));
     }
 
     /**
-     * 선택 로그 기록
+     * 선택 로그 기록 (비동기 일괄 저장)
      */
-    private void recordChoice(Character character, Options selectedOption) {
-        try {
-            LogO choiceLog = LogO.builder()
-                    .character(character)
-                    .options(selectedOption)
-                    .build();
-
-            logORepository.save(choiceLog);
-        } catch (Exception e) {
-            log.error("선택 로그 기록 실패: charId={}, optionId={}",
-                    character.getCharId(), selectedOption.getOptId(), e);
-            // 로그 저장 실패가 게임 진행에 영향을 주지 않도록 예외를 삼킴
-        }
+    private void recordChoice(Character character, StoryGraphCache.OptionNode selectedOption) {
+        playLogPipeline.recordChoice(character.getCharId(), selectedOption.optId());
     }
 
     /**
-     * 플레이 분석 로그 기록 (페이지 체류 시간 포함)
+     * 플레이 분석 로그 기록 (페이지 체류 시간 포함, 비동기 일괄 저장)
      */
-    private void recordPlayLog(Page currentPage, Options selectedOption, long durationMs) {
-        try {
-            // 현재는 캐릭터를 직접 가져올 수 없으므로 makeChoice에서 전달받도록 수정 필요
-            // 임시로 현재 사용자의 캐릭터 조회
-            User currentUser = authService.getCurrentUser();
-            Character character = getAliveCharacter(currentUser);
-
-            OpsLogB playLog = OpsLogB.builder()
-                    .character(character)
-                    .loge(null)  // 게임 종료 시 연결 예정
-                    .logbPage(currentPage.getPageId())
-                    .logbOpt(selectedOption.getOptId())
-                    .logbDur(durationMs)
-                    .build();
-
-            opsLogBRepository.save(playLog);
-        } catch (Exception e) {
-            log.error("플레이 로그 기록 실패: pageId={}, optionId={}",
-                    currentPage.getPageId(), selectedOption.getOptId(), e);
-            // 로그 저장 실패가 게임 진행에 영향을 주지 않도록 예외를 삼킴
-        }
+    private void recordPlayLog(Character character, StoryGraphCache.PageNode currentPage,
+                               StoryGraphCache.OptionNode selectedOption, long durationMs) {
+        playLogPipeline.recordPlay(character.getCharId(), currentPage.pageId(), selectedOption.optId(), durationMs);
     }
 
     /**
      * 게임 종료 로그 기록 및 플레이 로그 연결
      */
-    private void recordGameEnd(Character character, Page lastPage, String endType, String reason) {
+    private void recordGameEnd(Character character, long storyId, String endType, String reason) {
         try {
-            Story story = storyRepository.findById(lastPage.getStoId())
+            Story story = storyRepository.findById(storyId)
                     .orElse(null);
 
             if (story != null) {
@@ -481,15 +479,12 @@ public class GameService {
                 log.info("게임 종료 로그 저장 완료: charId={}, storyId={}, result={}",
                         character.getCharId(), story.getStoId(), endType);
 
-                // 해당 캐릭터의 미연결 플레이 로그 찾아서 LogE와 연결
-                List<OpsLogB> unlinkedPlayLogs = opsLogBRepository.findUnlinkedPlayLogsByCharacter(character.getCharId());
-                if (!unlinkedPlayLogs.isEmpty()) {
-                    for (OpsLogB playLog : unlinkedPlayLogs) {
-                        playLog.setLoge(endLog);
-                    }
-                    opsLogBRepository.saveAll(unlinkedPlayLogs);
+                // 해당 캐릭터의 미연결 플레이 로그를 LogE와 일괄 연결 (큐에 남은 로그 먼저 저장)
+                playLogPipeline.flush();
+                int linkedCount = opsLogBRepository.linkUnlinkedPlayLogs(character.getCharId(), endLog);
+                if (linkedCount > 0) {
                     log.info("플레이 로그 연결 완료: charId={}, logeId={}, count={}",
-                            character.getCharId(), endLog.getLogeId(), unlinkedPlayLogs.size());
+                            character.getCharId(), endLog.getLogeId(), linkedCount);
                 }
             }
         } catch (Exception e) {
@@ -516,7 +511,7 @@ public class GameService {
                             .userName(session.getCharacter().getUser().getUserName())
                             .storyId(story != null ? story.getStoId() : null)
                             .storyTitle(story != null ? story.getStoTitle() : "Unknown")
-                            .currentPageNumber(session.getPage().getPageNumber())
+                            .currentPageNumber(currentPageNumber(session))
                             .gameStartTime(session.getCreatedAt())
                             .build();
                 })
@@ -559,6 +554,7 @@ public class GameService {
         int cleanedCount = oldSessions.size();
 
         for (Now session : oldSessions) {
+            gameSessionStore.evict(session.getCharacter());
             nowRepository.delete(session);
             log.info("오래된 게임 세션 정리: charId={}, 생성일={}",
                     session.getCharacter().getCharId(), session.getCreatedAt());
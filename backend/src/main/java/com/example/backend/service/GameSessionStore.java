@@ -0,0 +1,425 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Character;
+import com.example.backend.entity.Now;
+import com.example.backend.repository.CharacterRepository;
+import com.example.backend.repository.NowRepository;
+import com.example.backend.repository.PageRepository;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 진행 중인 게임 세션 상태 저장소 (write-behind)
+ *
+ * 선택마다 바뀌는 값(현재 페이지, 페이지 진입 시각, 체력, 정신력)을 캐릭터별 Redis 해시에 두고,
+ * 변경된 캐릭터 ID만 dirty 집합에 모아 주기적으로 NOW/CHARACTER 테이블에 일괄 반영한다.
+ * - 첫 선택 시 DB(NOW + CHARACTER)에서 적재, 이후 선택은 Redis만 갱신
+ * - 게임 세대: 진행 중인 게임의 NOW ID를 game:session:gen:{charId}에 두고(시작 시 기록, 종료 시 삭제)
+ *   세션 해시의 nowId가 일치할 때만 사용/갱신 → 종료 후 남은 세션은 DB 조회 없이 폐기,
+ *   종료 뒤 늦게 도착한 갱신은 기록되지 않음 (세대 키가 없으면 DB에서 다시 적재)
+ * - 체크포인트: dirty 집합에서 SPOP으로 묶음을 가져가 한 트랜잭션으로 반영 (여러 노드가 돌아도 중복 없음)
+ *   NOW 행이 없는(이미 종료된) 세션은 건너뜀, 반영 실패 시 dirty 집합에 되돌림
+ * - 게임 종료(finish)/포기/정리/스탯 직접 수정(evict) 시 현재 트랜잭션에 즉시 반영 후 세션 제거
+ * - 새 게임 시작(discard) 시 이전 세션은 반영 없이 제거
+ * - 비활성화 또는 Redis 장애 시 즉시 DB에 기록 (기존 동작)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameSessionStore {
+
+    private static final String SESSION_KEY_PREFIX = "game:session:";
+    private static final String DIRTY_KEY = "game:session:dirty";
+    private static final String GENERATION_KEY_PREFIX = "game:session:gen:";
+
+    private static final String FIELD_NOW_ID = "nowId";
+    private static final String FIELD_STORY_ID = "storyId";
+    private static final String FIELD_PAGE_ID = "pageId";
+    private static final String FIELD_PAGE_ENTERED_AT = "pageEnteredAt";
+    private static final String FIELD_HEALTH = "health";
+    private static final String FIELD_SANITY = "sanity";
+
+    // 세대(NOW ID)가 일치할 때만 세션 기록 + dirty 표시 → 1: 기록, 0: 다른 게임(폐기)
+    // KEYS: 세션 해시, 세대 키, dirty 집합 / ARGV: nowId, charId, TTL(초), 필드/값...
+    private static final DefaultRedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "for i = 4, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+            "redis.call('SADD', KEYS[3], ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final NowRepository nowRepository;
+    private final CharacterRepository characterRepository;
+    private final PageRepository pageRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${behindy.game.session.write-behind:true}")
+    private boolean writeBehind;
+
+    @Value("${behindy.game.session.checkpoint-batch-size:200}")
+    private int checkpointBatchSize;
+
+    @Value("${behindy.game.session.ttl-hours:72}")
+    private long ttlHours;
+
+    /**
+     * 캐시된 세션 상태 조회 (Redis만 확인, 없거나 비활성화/장애 시 empty)
+     */
+    public Optional<SessionState> find(Long charId) {
+        if (!writeBehind || charId == null) {
+            return Optional.empty();
+        }
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(SESSION_KEY_PREFIX + charId);
+            return fields.isEmpty() ? Optional.empty() : Optional.of(SessionState.from(charId, fields));
+        } catch (Exception e) {
+            log.warn("게임 세션 조회 실패: charId={}, {}", charId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 선택 처리용 세션 상태 (캐시에 없으면 NOW/CHARACTER에서 적재해 캐시, 진행 중인 게임이 없으면 empty)
+     */
+    public Optional<SessionState> load(Character character) {
+        Optional<SessionState> cached = find(character.getCharId());
+        if (cached.isPresent()) {
+            if (isCurrentGeneration(cached.get())) {
+                return cached;
+            }
+            // 종료된 게임의 세션(삭제 실패, 종료 후 늦게 도착한 갱신 등) - 반영 없이 폐기 후 DB에서 적재
+            log.warn("이전 게임 세션 폐기: charId={}, storyId={}", character.getCharId(), cached.get().getStoryId());
+            discard(character.getCharId());
+        }
+
+        Optional<Now> gameSession = nowRepository.findByCharacterIdWithPage(character.getCharId());
+        if (gameSession.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Now now = gameSession.get();
+        SessionState state = SessionState.builder()
+                .charId(character.getCharId())
+                .nowId(now.getNowId())
+                .storyId(now.getPage().getStoId())
+                .pageId(now.getPage().getPageId())
+                .pageEnteredAt(now.getPageEnteredAt())
+                .health(character.getCharHealth())
+                .sanity(character.getCharSanity())
+                .build();
+
+        if (writeBehind) {
+            try {
+                setGeneration(state.getCharId(), state.getNowId());
+                writeState(state);
+            } catch (Exception e) {
+                log.warn("게임 세션 캐시 적재 실패: charId={}, {}", character.getCharId(), e.getMessage());
+            }
+        }
+        return Optional.of(state);
+    }
+
+    /**
+     * 새 게임 시작 - 이전 세션 제거 후 세대를 새 NOW ID로 교체 (이전 게임의 세션/갱신은 이후 무시됨)
+     */
+    public void begin(Long charId, Long nowId) {
+        discard(charId);
+        if (!writeBehind || charId == null || nowId == null) {
+            return;
+        }
+        try {
+            setGeneration(charId, nowId);
+        } catch (Exception e) {
+            log.warn("게임 세대 기록 실패: charId={}, {}", charId, e.getMessage());
+        }
+    }
+
+    /**
+     * 세션 상태 갱신 (Redis 기록 + dirty 표시, 비활성화/장애 시 현재 트랜잭션에서 바로 DB 반영)
+     */
+    public void save(SessionState state) {
+        if (writeBehind && state.getNowId() != null) {
+            try {
+                Long written = redisTemplate.execute(SAVE_SCRIPT,
+                        List.of(SESSION_KEY_PREFIX + state.getCharId(), GENERATION_KEY_PREFIX + state.getCharId(),
+                                DIRTY_KEY),
+                        saveArgs(state));
+                if (written == null || written == 0) {
+                    // 그 사이 게임이 종료/재시작됨 - 이전 게임 상태는 기록하지 않음
+                    log.warn("종료된 게임의 세션 갱신 무시: charId={}, nowId={}", state.getCharId(), state.getNowId());
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("게임 세션 기록 실패 - DB 직접 반영: charId={}, {}", state.getCharId(), e.getMessage());
+            }
+        }
+        writeToDatabase(List.of(state));
+    }
+
+    /**
+     * 세션 상태를 현재 트랜잭션의 엔티티에 반영하고 캐시에서 제거
+     * (게임 포기/정리, 스탯 직접 수정 등 DB 값을 기준으로 처리해야 하는 경로에서 호출)
+     */
+    public void evict(Character character) {
+        find(character.getCharId()).ifPresent(state -> {
+            Optional<Now> gameSession = nowRepository.findByCharacterIdWithPage(character.getCharId());
+            if (gameSession.isEmpty() || !isCurrent(state, gameSession.get())) {
+                // 진행 중인 게임과 무관한 세션 - DB에 반영하지 않음
+                discard(character.getCharId());
+                return;
+            }
+            applyTo(gameSession.get(), state);
+            finish(character, state);
+        });
+    }
+
+    /**
+     * 세션을 DB에 반영하지 않고 제거 (새 게임 시작 시 이전 게임 세션 정리)
+     */
+    public void discard(Long charId) {
+        if (!writeBehind || charId == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(SESSION_KEY_PREFIX + charId);
+            redisTemplate.opsForSet().remove(DIRTY_KEY, String.valueOf(charId));
+        } catch (Exception e) {
+            log.warn("게임 세션 폐기 실패: charId={}, {}", charId, e.getMessage());
+        }
+    }
+
+    /**
+     * 게임 종료 - 최종 체력/정신력을 캐릭터 엔티티에 반영(현재 트랜잭션)하고 세션/세대 제거
+     */
+    public void finish(Character character, SessionState state) {
+        character.setCharHealth(state.getHealth());
+        character.setCharSanity(state.getSanity());
+
+        discard(character.getCharId());
+        if (!writeBehind) {
+            return;
+        }
+        try {
+            redisTemplate.delete(GENERATION_KEY_PREFIX + character.getCharId());
+        } catch (Exception e) {
+            log.warn("게임 세대 제거 실패: charId={}, {}", character.getCharId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 변경된 세션 일괄 반영
+     */
+    @Scheduled(fixedDelayString = "${behindy.game.session.checkpoint-interval:5000}")
+    public void checkpoint() {
+        if (!writeBehind) {
+            return;
+        }
+
+        List<String> claimed;
+        try {
+            claimed = redisTemplate.opsForSet().pop(DIRTY_KEY, checkpointBatchSize);
+        } catch (Exception e) {
+            log.warn("게임 세션 체크포인트 대상 조회 실패: {}", e.getMessage());
+            return;
+        }
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        List<SessionState> states = new ArrayList<>(claimed.size());
+        try {
+            for (String charId : claimed) {
+                // 그 사이 종료되어 제거된 세션은 건너뜀
+                find(Long.valueOf(charId)).ifPresent(states::add);
+            }
+            writeToDatabase(states);
+            log.debug("게임 세션 체크포인트: {}건 반영", states.size());
+        } catch (Exception e) {
+            log.error("게임 세션 체크포인트 실패 - 다음 주기에 재시도: {}건, {}", claimed.size(), e.getMessage());
+            try {
+                redisTemplate.opsForSet().add(DIRTY_KEY, claimed.toArray(String[]::new));
+            } catch (Exception restoreError) {
+                log.error("게임 세션 dirty 표시 복구 실패: {}", restoreError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 종료 시 남은 변경분 반영
+     */
+    @PreDestroy
+    public void flushAll() {
+        if (!writeBehind) {
+            return;
+        }
+        try {
+            // 실패 시 dirty 집합으로 되돌아가므로 시작 시점 대상 수만큼만 반복
+            Long pending = redisTemplate.opsForSet().size(DIRTY_KEY);
+            long rounds = pending == null ? 0 : (pending + checkpointBatchSize - 1) / checkpointBatchSize;
+            for (long i = 0; i < rounds; i++) {
+                checkpoint();
+            }
+        } catch (Exception e) {
+            log.warn("종료 시 게임 세션 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * NOW/CHARACTER 반영 (한 트랜잭션, 호출 측 트랜잭션이 있으면 참여)
+     * JDBC 배치(hibernate.jdbc.batch_size)로 UPDATE가 묶여 전송됨
+     */
+    private void writeToDatabase(List<SessionState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, SessionState> byCharId = states.stream()
+                    .collect(Collectors.toMap(SessionState::getCharId, Function.identity(), (a, b) -> b, HashMap::new));
+
+            List<Now> sessions = nowRepository.findByCharacterIds(byCharId.keySet());
+            Map<Long, Character> characters = characterRepository.findAllById(sessions.stream()
+                            .map(now -> now.getCharacter().getCharId())
+                            .toList()).stream()
+                    .collect(Collectors.toMap(Character::getCharId, Function.identity()));
+
+            for (Now now : sessions) {
+                SessionState state = byCharId.get(now.getCharacter().getCharId());
+                // 그 사이 다른 스토리로 새 게임이 시작된 경우 이전 세션 값으로 덮어쓰지 않음
+                if (!isCurrent(state, now)) {
+                    continue;
+                }
+                applyTo(now, state);
+
+                Character character = characters.get(state.getCharId());
+                if (character != null && !character.isDeleted()) {
+                    character.setCharHealth(state.getHealth());
+                    character.setCharSanity(state.getSanity());
+                }
+            }
+        });
+    }
+
+    /**
+     * 세션이 NOW 행의 게임과 같은지 (NOW ID, 없으면 스토리 기준)
+     */
+    private boolean isCurrent(SessionState state, Now now) {
+        if (state.getNowId() != null) {
+            return state.getNowId().equals(now.getNowId());
+        }
+        return now.getPage() != null && now.getPage().getStoId() == state.getStoryId();
+    }
+
+    /**
+     * 세션이 현재 게임 세대(진행 중인 NOW ID)의 것인지 - Redis 조회 1회
+     */
+    private boolean isCurrentGeneration(SessionState state) {
+        if (state.getNowId() == null) {
+            return false;
+        }
+        try {
+            return String.valueOf(state.getNowId())
+                    .equals(redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + state.getCharId()));
+        } catch (Exception e) {
+            log.warn("게임 세대 확인 실패: charId={}, {}", state.getCharId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void setGeneration(Long charId, Long nowId) {
+        redisTemplate.opsForValue().set(GENERATION_KEY_PREFIX + charId, String.valueOf(nowId), ttlHours, TimeUnit.HOURS);
+    }
+
+    private Object[] saveArgs(SessionState state) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(state.getNowId()));
+        args.add(String.valueOf(state.getCharId()));
+        args.add(String.valueOf(TimeUnit.HOURS.toSeconds(ttlHours)));
+        state.toFields().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        return args.toArray();
+    }
+
+    private void applyTo(Now now, SessionState state) {
+        if (now.getPage() == null || now.getPage().getPageId() != state.getPageId()) {
+            now.setPage(pageRepository.getReferenceById(state.getPageId()));
+        }
+        now.setPageEnteredAt(state.getPageEnteredAt());
+    }
+
+    private void writeState(SessionState state) {
+        String key = SESSION_KEY_PREFIX + state.getCharId();
+        redisTemplate.opsForHash().putAll(key, state.toFields());
+        redisTemplate.expire(key, ttlHours, TimeUnit.HOURS);
+    }
+
+    /**
+     * 캐릭터 1명의 진행 중 게임 상태
+     */
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SessionState {
+        private Long charId;
+        private Long nowId;
+        private long storyId;
+        private long pageId;
+        private LocalDateTime pageEnteredAt;
+        private int health;
+        private int sanity;
+
+        Map<String, String> toFields() {
+            Map<String, String> fields = new HashMap<>();
+            fields.put(FIELD_NOW_ID, nowId != null ? String.valueOf(nowId) : "");
+            fields.put(FIELD_STORY_ID, String.valueOf(storyId));
+            fields.put(FIELD_PAGE_ID, String.valueOf(pageId));
+            fields.put(FIELD_PAGE_ENTERED_AT, pageEnteredAt != null ? pageEnteredAt.toString() : "");
+            fields.put(FIELD_HEALTH, String.valueOf(health));
+            fields.put(FIELD_SANITY, String.valueOf(sanity));
+            return fields;
+        }
+
+        static SessionState from(Long charId, Map<Object, Object> fields) {
+            String enteredAt = (String) fields.get(FIELD_PAGE_ENTERED_AT);
+            String nowId = (String) fields.get(FIELD_NOW_ID);
+            return SessionState.builder()
+                    .charId(charId)
+                    .nowId(nowId == null || nowId.isEmpty() ? null : Long.valueOf(nowId))
+                    .storyId(Long.parseLong((String) fields.get(FIELD_STORY_ID)))
+                    .pageId(Long.parseLong((String) fields.get(FIELD_PAGE_ID)))
+                    .pageEnteredAt(enteredAt == null || enteredAt.isEmpty() ? null : LocalDateTime.parse(enteredAt))
+                    .health(Integer.parseInt((String) fields.get(FIELD_HEALTH)))
+                    .sanity(Integer.parseInt((String) fields.get(FIELD_SANITY)))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 임대(lease) 기반 리더 선출
+ *
+ * 역할(role)별로 "leader:{role}" 키에 "{nodeId}|{펜싱 토큰}"을 TTL과 함께 기록한다.
+ * - 획득: 키가 없을 때만 펜싱 토큰(INCR)을 새로 발급받아 기록, 보유 중이면 TTL 연장 (Lua로 원자 처리)
+ * - 팔로워는 갱신 주기마다 획득을 시도 → 리더 장애 시 TTL 만료 후 다음 주기에 승계
+ * - 정상 종료 시 임대를 즉시 반납 → 다음 갱신 주기 안에 승계
+ * - 로컬 리더 판정은 임대 요청 직전 시각 + TTL(여유분 차감)까지만 유효 (Redis 장애 시 스스로 물러남)
+ * - 오래 걸리는 작업은 시작 시 토큰을 받아 두고, 결과 반영 직전 isStillLeader로 토큰을 재확인
+ *   (그 사이 다른 노드가 리더가 되었으면 결과를 버림)
+ *
+ * 비활성화(기본값) 시 단일 노드로 간주하고 항상 리더
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderElectionService {
+
+    public static final String METRO_SCHEDULER = "metro-scheduler";
+    public static final String AI_STORY_SCHEDULER = "ai-story-scheduler";
+
+    private static final List<String> ROLES = List.of(METRO_SCHEDULER, AI_STORY_SCHEDULER);
+
+    private static final String LEASE_KEY_PREFIX = "leader:";
+    private static final String FENCING_KEY_SUFFIX = ":fencing";
+    private static final char SEPARATOR = '|';
+
+    // 보유 중이면 TTL 연장 후 기존 토큰, 비어 있으면 새 토큰 발급, 다른 노드 보유 시 -1
+    private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then " +
+            "  local sep = string.find(current, '|', 1, true) " +
+            "  if sep and string.sub(current, 1, sep - 1) == ARGV[1] then " +
+            "    redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "    return tonumber(string.sub(current, sep + 1)) " +
+            "  end " +
+            "  return -1 " +
+            "end " +
+            "local token = redis.call('INCR', KEYS[2]) " +
+            "redis.call('SET', KEYS[1], ARGV[1] .. '|' .. token, 'PX', ARGV[2]) " +
+            "return token",
+            Long.class);
+
+    // 본인 임대일 때만 삭제
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${behindy.cluster.leader.enabled:false}")
+    private boolean enabled;
+
+    @Value("${behindy.cluster.leader.lease-ttl:15000}")
+    private long leaseTtlMillis;
+
+    @Value("${behindy.cluster.leader.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    // 역할별 보유 임대 (토큰 + 로컬 유효 기한)
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        nodeId = resolveNodeId();
+        if (enabled) {
+            log.info("리더 선출 활성화: node={}, lease TTL {}ms, 역할 {}", nodeId, leaseTtlMillis, ROLES);
+            renewLeases();
+        }
+    }
+
+    /**
+     * 임대 획득/연장 - 리더는 연장, 팔로워는 승계 시도
+     */
+    @Scheduled(fixedDelayString = "${behindy.cluster.leader.renew-interval:5000}")
+    public void renewLeases() {
+        if (!enabled) {
+            return;
+        }
+        ROLES.forEach(this::tryAcquire);
+    }
+
+    private void tryAcquire(String role) {
+        long requestedAt = System.currentTimeMillis();
+        try {
+            Long token = redisTemplate.execute(ACQUIRE_SCRIPT,
+                    List.of(LEASE_KEY_PREFIX + role, LEASE_KEY_PREFIX + role + FENCING_KEY_SUFFIX),
+                    nodeId, String.valueOf(leaseTtlMillis));
+
+            if (token != null && token > 0) {
+                // 요청 직전 시각 기준 + 노드 간 시계/지연 여유분 차감
+                Lease previous = leases.put(role, new Lease(token, requestedAt + leaseTtlMillis - leaseTtlMillis / 10));
+                if (previous == null || previous.token() != token) {
+                    log.info("리더 획득: role={}, node={}, fencing token={}", role, nodeId, token);
+                }
+            } else if (leases.remove(role) != null) {
+                log.warn("리더 상실: role={}, node={} - 다른 노드가 임대 보유", role, nodeId);
+            }
+        } catch (Exception e) {
+            // 기존 임대는 로컬 유효 기한까지만 인정 (이후 자동으로 팔로워)
+            log.warn("리더 임대 갱신 실패: role={}, {}", role, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 이 노드가 역할의 리더인지 (로컬 판정, 네트워크 호출 없음)
+     */
+    public boolean isLeader(String role) {
+        if (!enabled) {
+            return true;
+        }
+        Lease lease = leases.get(role);
+        return lease != null && System.currentTimeMillis() < lease.validUntilMillis();
+    }
+
+    /**
+     * 현재 보유 펜싱 토큰 (리더가 아니면 -1, 비활성화 시 0)
+     */
+    public long currentToken(String role) {
+        if (!enabled) {
+            return 0;
+        }
+        Lease lease = leases.get(role);
+        return lease != null && System.currentTimeMillis() < lease.validUntilMillis() ? lease.token() : -1;
+    }
+
+    /**
+     * 작업 시작 시 받은 토큰이 Redis 기준으로 아직 유효한지 (결과 반영 직전 펜싱 확인)
+     */
+    public boolean isStillLeader(String role, long token) {
+        if (!enabled) {
+            return true;
+        }
+        if (token <= 0) {
+            return false;
+        }
+        try {
+            return (nodeId + SEPARATOR + token).equals(redisTemplate.opsForValue().get(LEASE_KEY_PREFIX + role));
+        } catch (Exception e) {
+            log.warn("펜싱 토큰 확인 실패: role={}, {}", role, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 다중 노드 모드 여부 (비활성화 시 단일 노드)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이 노드 식별자 (노드 간 메시지/수요 공유용)
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 역할별 리더 여부 (상태 조회용)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("nodeId", nodeId);
+        ROLES.forEach(role -> status.put(role, isLeader(role) ? "LEADER(" + currentToken(role) + ")" : "FOLLOWER"));
+        return status;
+    }
+
+    /**
+     * 종료 시 임대 반납 - 다른 노드가 TTL 만료를 기다리지 않고 승계
+     */
+    @PreDestroy
+    public void releaseLeases() {
+        if (!enabled) {
+            return;
+        }
+        leases.forEach((role, lease) -> {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + role),
+                        nodeId + SEPARATOR + lease.token());
+                log.info("리더 임대 반납: role={}, node={}", role, nodeId);
+            } catch (Exception e) {
+                log.warn("리더 임대 반납 실패: role={}, {}", role, e.getMessage());
+            }
+        });
+        leases.clear();
+    }
+
+    private String resolveNodeId() {
+        String base = configuredNodeId;
+        if (base == null || base.isBlank()) {
+            try {
+                base = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                base = "node";
+            }
+        }
+        // 재시작 시 이전 프로세스의 임대와 구분되도록 접미사 부여
+        return base.replace(String.valueOf(SEPARATOR), "_") + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record Lease(long token, long validUntilMillis) {
+    }
+}
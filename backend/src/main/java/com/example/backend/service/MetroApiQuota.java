@@ -0,0 +1,185 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 서울시 API 일일 호출 한도 - 클러스터 공용 카운터
+ *
+ * Redis 날짜 키(metro:quota:yyyyMMdd)에 노드들이 사용권을 N개씩 임대해 가고,
+ * 각 노드는 임대받은 범위 안에서는 네트워크 없이 로컬로 차감한다.
+ * - 재시작/다중 노드에서도 한도 합계가 유지됨 (날짜가 바뀌면 새 키)
+ * - 한도에 가까우면 남은 만큼만 임대
+ * - 종료 시 쓰지 않은 임대분 반납
+ * - Redis 장애 시 로컬 카운터로만 제한 (노드별 한도, 복구 후 Redis 기준으로 복귀)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetroApiQuota {
+
+    private static final String QUOTA_KEY_PREFIX = "metro:quota:";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final long KEY_TTL_SECONDS = 2 * 24 * 3600;
+
+    // 남은 한도 내에서 최대 ARGV[2]개 임대 → {임대 수, 임대 후 누적}
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> LEASE_SCRIPT = new DefaultRedisScript<>(
+            "local used = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local grant = math.min(tonumber(ARGV[2]), tonumber(ARGV[1]) - used) " +
+            "if grant <= 0 then return {0, used} end " +
+            "used = redis.call('INCRBY', KEYS[1], grant) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return {grant, used}",
+            List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${seoul.metro.monitoring.daily-limit:950}")
+    private int dailyLimit;
+
+    @Value("${seoul.metro.api.quota.lease-size:10}")
+    private int leaseSize;
+
+    // 현재 임대분 (day 기준) - 호출 경로에서는 이 값만 차감
+    private String leaseDay;
+    private int localRemaining = 0;
+    private int localUsed = 0;
+    // 마지막 임대 시점의 클러스터 누적 임대량
+    private long clusterLeased = 0;
+
+    /**
+     * 시작 시 오늘 누적 사용량 조회 (재시작 직후 사용량/폴링 간격 계산용)
+     */
+    @PostConstruct
+    public synchronized void init() {
+        resetDay();
+        try {
+            String used = redisTemplate.opsForValue().get(QUOTA_KEY_PREFIX + leaseDay);
+            clusterLeased = used != null ? Long.parseLong(used) : 0;
+            log.info("API 호출 한도 초기화: 오늘 클러스터 누적 {}/{}, 임대 단위 {}", clusterLeased, dailyLimit, leaseSize);
+        } catch (Exception e) {
+            log.warn("API 호출 누적 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 호출 1건 사용권 획득 (한도 초과 시 false)
+     */
+    public synchronized boolean tryAcquire() {
+        rollDayIfNeeded();
+        if (localRemaining == 0 && !lease()) {
+            return false;
+        }
+        localRemaining--;
+        localUsed++;
+        return true;
+    }
+
+    /**
+     * 획득 후 실제로 호출하지 않은 사용권 반환 (로컬 임대분으로 되돌림)
+     */
+    public synchronized void release() {
+        if (localUsed > 0) {
+            localUsed--;
+            localRemaining++;
+        }
+    }
+
+    /**
+     * 오늘 클러스터 전체 사용량 추정 (마지막 임대 시점 누적 - 이 노드의 미사용 임대분)
+     */
+    public synchronized int getDailyCallCount() {
+        rollDayIfNeeded();
+        return (int) Math.max(localUsed, clusterLeased - localRemaining);
+    }
+
+    /**
+     * 이 노드의 오늘 사용량
+     */
+    public synchronized int getLocalCallCount() {
+        rollDayIfNeeded();
+        return localUsed;
+    }
+
+    public int getDailyLimit() {
+        return dailyLimit;
+    }
+
+    /**
+     * 날짜 전환 - 전날 임대분 폐기 (전날 키는 TTL로 만료)
+     */
+    public synchronized void resetDay() {
+        leaseDay = today();
+        localRemaining = 0;
+        localUsed = 0;
+        clusterLeased = 0;
+    }
+
+    /**
+     * 종료 시 미사용 임대분 반납
+     */
+    @PreDestroy
+    public synchronized void returnUnused() {
+        if (localRemaining <= 0 || leaseDay == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().decrement(QUOTA_KEY_PREFIX + leaseDay, localRemaining);
+            log.info("미사용 API 호출 임대분 {}건 반납", localRemaining);
+            localRemaining = 0;
+        } catch (Exception e) {
+            log.warn("API 호출 임대분 반납 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean lease() {
+        try {
+            List<?> result = redisTemplate.execute(LEASE_SCRIPT, List.of(QUOTA_KEY_PREFIX + leaseDay),
+                    String.valueOf(dailyLimit), String.valueOf(leaseSize), String.valueOf(KEY_TTL_SECONDS));
+            if (result == null || result.size() < 2) {
+                return false;
+            }
+
+            int granted = ((Number) result.get(0)).intValue();
+            clusterLeased = ((Number) result.get(1)).longValue();
+            if (granted <= 0) {
+                return false;
+            }
+
+            localRemaining += granted;
+            log.debug("API 호출 사용권 {}건 임대 (클러스터 누적 {}/{})", granted, clusterLeased, dailyLimit);
+            return true;
+
+        } catch (Exception e) {
+            // Redis 장애 - 이 노드 단독 한도로만 허용
+            if (localUsed >= dailyLimit) {
+                return false;
+            }
+            log.warn("API 호출 한도 임대 실패 - 로컬 카운터로 대체: {}", e.getMessage());
+            localRemaining++;
+            return true;
+        }
+    }
+
+    private void rollDayIfNeeded() {
+        String today = today();
+        if (!today.equals(leaseDay)) {
+            resetDay();
+        }
+    }
+
+    private String today() {
+        return LocalDate.now().format(DAY_FORMAT);
+    }
+}
@@ -5,9 +5,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -15,7 +18,7 @@ import jakarta.annotation.PostConstruct;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,13 +43,52 @@ public class MetroApiService {
     @Value("${seoul.metro.api.enabled-lines:1,2,3,4}")
     private String enabledLinesConfig;
 
+    // 재시도를 포함한 노선 1개 조회 상한
+    @Value("${seoul.metro.api.line-timeout:30000}")
+    private int lineTimeoutMs;
+
+    @Value("${seoul.metro.api.concurrency:2}")
+    private int fetchConcurrency;
+
+    // 느린 노선에 지연 백분위 경과 후 두 번째 요청 (호출량 추가 소모)
+    @Value("${seoul.metro.api.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${seoul.metro.api.hedge.percentile:0.9}")
+    private double hedgePercentile;
+
+    @Value("${seoul.metro.api.hedge.min-delay:2000}")
+    private long hedgeMinDelayMs;
+
+    // 회로 차단/호출 실패 시 캐시 데이터를 대신 사용할 최대 경과 시간
+    @Value("${seoul.metro.api.circuit.last-known-good-max-age:1800}")
+    private int lastKnownGoodMaxAgeSeconds;
+
+    // 응답을 DTO로 전부 버퍼링하지 않고 청크 단위로 파싱
+    @Value("${seoul.metro.api.streaming-parse:true}")
+    private boolean streamingParse;
+
     private final WebClient webClient;
-    private final AtomicInteger dailyCallCount = new AtomicInteger(0);
+    private final MetroLineCircuitBreaker circuitBreaker;
+    private final MetroCacheService metroCacheService;
+    private final MetroStationFilter stationFilter;
+    private final MetroMockEngine mockEngine;
+    private final MetroApiQuota apiQuota;
     private List<String> enabledLines;
 
     // 명시적 생성자로 @Qualifier 지정
-    public MetroApiService(@Qualifier("metroWebClient") WebClient webClient) {
+    public MetroApiService(@Qualifier("metroWebClient") WebClient webClient,
+                           MetroLineCircuitBreaker circuitBreaker,
+                           MetroCacheService metroCacheService,
+                           MetroStationFilter stationFilter,
+                           MetroMockEngine mockEngine,
+                           MetroApiQuota apiQuota) {
         this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+        this.metroCacheService = metroCacheService;
+        this.stationFilter = stationFilter;
+        this.mockEngine = mockEngine;
+        this.apiQuota = apiQuota;
     }
 
     @PostConstruct
@@ -63,38 +105,173 @@ public class MetroApiService {
     }
 
     /**
-     *  실시간 위치 조회 - OpenAPI 우선, 실패시에만 Mock
+     *  실시간 위치 조회 - OpenAPI 우선, 실패/회로 차단 시 마지막 정상 데이터, 없으면 Mock
      */
     public Mono<List<TrainPosition>> getRealtimePositions(String lineNumber) {
+        return resolvePositions(lineNumber).map(LineData::positions);
+    }
+
+    /**
+     *  노선 위치 + 대체 여부 (fallbackCause가 있으면 마지막 정상 데이터/Mock으로 대체된 결과)
+     *  노선별 타임아웃(재시도 포함)은 API 호출에만 적용 → 초과 시에도 대체 데이터로 전환
+     */
+    private Mono<LineData> resolvePositions(String lineNumber) {
+        // API 비활성화/테스트 키는 Mock 모드 (설정에 따른 정상 동작)
         if (!apiEnabled || !isValidApiKey()) {
-            return createRealisticMockData(lineNumber);
+            return createRealisticMockData(lineNumber).map(positions -> new LineData(positions, null));
+        }
+
+        // 일일 호출 한도(클러스터 공용) 소진 시 호출하지 않고 대체 데이터
+        if (!apiQuota.tryAcquire()) {
+            log.debug("{}호선 일일 호출 한도 소진 - 마지막 정상 데이터 사용", lineNumber);
+            return fallback(lineNumber, new IllegalStateException(lineNumber + "호선 일일 호출 한도 소진"));
+        }
+
+        // 회로 차단 중이면 호출하지 않고 즉시 대체 데이터 (사용권 반환)
+        if (!circuitBreaker.tryAcquire(lineNumber)) {
+            apiQuota.release();
+            log.debug("{}호선 회로 차단 중 - 마지막 정상 데이터 사용", lineNumber);
+            return fallback(lineNumber, new IllegalStateException(lineNumber + "호선 회로 차단 중"));
         }
 
         // 실제 OpenAPI 호출
-        return callSeoulMetroAPI(lineNumber)
-                .doOnSuccess(positions -> incrementCallCount())
-                .onErrorResume(error -> createRealisticMockData(lineNumber));
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return callWithHedge(lineNumber)
+                    .timeout(Duration.ofMillis(lineTimeoutMs))
+                    .doOnSuccess(positions -> {
+                        logCallCount();
+                        circuitBreaker.recordSuccess(lineNumber, elapsedMillis(startNanos));
+                    })
+                    .doOnError(error -> circuitBreaker.recordFailure(lineNumber))
+                    .doOnCancel(() -> circuitBreaker.recordFailure(lineNumber));
+        }).map(positions -> new LineData(positions, null))
+                .onErrorResume(error -> fallback(lineNumber, error));
+    }
+
+    /**
+     *  대체 데이터 - 마지막 정상 데이터, 없으면 Mock
+     */
+    private Mono<LineData> fallback(String lineNumber, Throwable cause) {
+        return lastKnownGood(lineNumber)
+                .switchIfEmpty(Mono.defer(() -> createRealisticMockData(lineNumber)))
+                .map(positions -> new LineData(positions, cause));
+    }
+
+    /**
+     *  헤지 요청 - 지연 백분위(표본 부족 시 미적용)가 지나도 응답이 없으면 두 번째 요청,
+     *  먼저 성공한 응답 사용 (나머지는 취소)
+     */
+    private Mono<List<TrainPosition>> callWithHedge(String lineNumber) {
+        long hedgeDelay = hedgeEnabled ? circuitBreaker.latencyPercentile(lineNumber, hedgePercentile) : -1;
+        if (hedgeDelay < 0) {
+            return callSeoulMetroAPI(lineNumber);
+        }
+
+        Mono<List<TrainPosition>> hedge = Mono.delay(Duration.ofMillis(Math.max(hedgeDelay, hedgeMinDelayMs)))
+                .then(Mono.defer(() -> {
+                    // 헤지 요청도 한도에서 차감 - 남은 사용권이 없으면 보내지 않음
+                    // (empty로 끝내야 1차 요청 실패 시 firstWithValue가 바로 실패해 대체 데이터로 전환됨)
+                    if (!apiQuota.tryAcquire()) {
+                        return Mono.<List<TrainPosition>>empty();
+                    }
+                    log.debug("{}호선 응답 지연 - 헤지 요청 전송", lineNumber);
+                    return callSeoulMetroAPI(lineNumber);
+                }));
+
+        return Mono.firstWithValue(callSeoulMetroAPI(lineNumber), hedge)
+                .onErrorMap(NoSuchElementException.class, error ->
+                        new RuntimeException(lineNumber + "호선 조회 실패 (헤지 포함)", error));
+    }
+
+    /**
+     *  마지막 정상 데이터 (캐시) - 열차 갱신 시각이 허용 범위 이내일 때만
+     */
+    private Mono<List<TrainPosition>> lastKnownGood(String lineNumber) {
+        return Mono.fromSupplier(() -> {
+            MetroCacheService.PositionCacheData cacheData = metroCacheService.getLinePositions(lineNumber);
+            if (cacheData == null || cacheData.getPositions() == null || cacheData.getPositions().isEmpty()) {
+                return null;
+            }
+
+            // 재발행해도 유지되는 열차별 갱신 시각 기준으로 신선도 판단
+            LocalDateTime newest = cacheData.getPositions().stream()
+                    .map(TrainPosition::getLastUpdated)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            if (newest == null || newest.isBefore(LocalDateTime.now().minusSeconds(lastKnownGoodMaxAgeSeconds))) {
+                return null;
+            }
+            return cacheData.getPositions();
+        });
     }
 
     /**
      *  실제 서울시 지하철 OpenAPI 호출
+     *  첫 시도는 호출 측이 획득한 사용권으로, 재시도는 시도마다 사용권을 새로 획득 (소진 시 재시도 중단)
      */
     private Mono<List<TrainPosition>> callSeoulMetroAPI(String lineNumber) {
         String url = buildOpenApiUrl(lineNumber);
 
-        return webClient.get()
+        WebClient.ResponseSpec response = webClient.get()
                 .uri(url)
                 .retrieve()
-                .onStatus(HttpStatusCode::isError, response ->
-                    Mono.error(new RuntimeException("OpenAPI HTTP 에러: " + response.statusCode())))
-                .bodyToMono(RealtimePositionResponse.class)
+                .onStatus(HttpStatusCode::isError, clientResponse ->
+                    Mono.error(new RuntimeException("OpenAPI HTTP 에러: " + clientResponse.statusCode())));
+
+        AtomicBoolean firstAttempt = new AtomicBoolean(true);
+        if (streamingParse) {
+            // API 결과 에러(IllegalStateException)는 재시도하지 않음 - 기존 경로와 동일
+            return withAttemptPermit(lineNumber, firstAttempt, parseStreaming(response))
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .retryWhen(Retry.fixedDelay(retryCount, Duration.ofSeconds(2))
+                            .filter(error -> !(error instanceof IllegalStateException)
+                                    && !(error instanceof QuotaExhaustedException)))
+                    .onErrorMap(Exception.class, error ->
+                            new RuntimeException("OpenAPI 호출 완전 실패: " + error.getMessage(), error));
+        }
+
+        return withAttemptPermit(lineNumber, firstAttempt, response.bodyToMono(RealtimePositionResponse.class))
                 .timeout(Duration.ofMillis(timeoutMs))
-                .retryWhen(Retry.fixedDelay(retryCount, Duration.ofSeconds(2)))
-                .map(response -> processOpenApiResponse(response, lineNumber))
+                .retryWhen(Retry.fixedDelay(retryCount, Duration.ofSeconds(2))
+                        .filter(error -> !(error instanceof QuotaExhaustedException)))
+                .map(body -> processOpenApiResponse(body, lineNumber))
                 .onErrorMap(Exception.class, error ->
                         new RuntimeException("OpenAPI 호출 완전 실패: " + error.getMessage(), error));
     }
 
+    /**
+     *  HTTP 시도마다 일일 한도 사용권 차감 (재시도가 실제 호출 수만큼 집계되도록)
+     */
+    private <T> Mono<T> withAttemptPermit(String lineNumber, AtomicBoolean firstAttempt, Mono<T> attempt) {
+        return Mono.defer(() -> {
+            if (!firstAttempt.getAndSet(false) && !apiQuota.tryAcquire()) {
+                return Mono.error(new QuotaExhaustedException(lineNumber + "호선 재시도 중 일일 호출 한도 소진"));
+            }
+            return attempt;
+        });
+    }
+
+    /**
+     *  응답 청크를 받는 대로 파싱 - 프론트엔드 역 열차만 TrainPosition으로 변환
+     */
+    private Mono<List<TrainPosition>> parseStreaming(WebClient.ResponseSpec response) {
+        return response.bodyToFlux(DataBuffer.class)
+                .collect(() -> new MetroPositionStreamParser(stationFilter::isFrontendStation,
+                                this::convertApiDataToTrainPosition),
+                        (parser, buffer) -> {
+                            try {
+                                byte[] chunk = new byte[buffer.readableByteCount()];
+                                buffer.read(chunk);
+                                parser.feed(chunk, 0, chunk.length);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                .map(MetroPositionStreamParser::finish);
+    }
+
     /**
      *  OpenAPI 응답 처리
      */
@@ -141,61 +318,70 @@ public class MetroApiService {
     }
 
     /**
-     *  전체 노선 조회 - 배치 요약 로그
+     *  전체 노선 조회 - 조회에 성공한 노선의 열차만 합쳐 반환
      */
     public Mono<List<TrainPosition>> getAllLinesRealtime() {
-        log.info("🚇 배치 시작: {}개 노선 조회 [{}]", enabledLines.size(), String.join(", ", enabledLines));
-        long startTime = System.currentTimeMillis();
-
-        List<Mono<List<TrainPosition>>> requests = enabledLines.stream()
-                .map(this::getRealtimePositions)
-                .collect(Collectors.toList());
-
-        return Mono.zip(requests, results -> {
-            List<TrainPosition> allTrains = Arrays.stream(results)
-                    .flatMap(result -> ((List<TrainPosition>) result).stream())
-                    .collect(Collectors.toList());
+        return fetchLines(enabledLines)
+                .map(results -> results.stream()
+                        .filter(LineFetchResult::isSuccess)
+                        .flatMap(result -> result.positions().stream())
+                        .collect(Collectors.toList()));
+    }
 
-            // 데이터 소스별 통계
-            long realCount = allTrains.stream().filter(t -> "SEOUL_OPENAPI".equals(t.getDataSource())).count();
-            long mockCount = allTrains.stream().filter(t -> "MOCK_REALISTIC".equals(t.getDataSource())).count();
-            long duration = System.currentTimeMillis() - startTime;
+    /**
+     *  노선별 조회 파이프라인 - 배치 요약 로그
+     *  동시 호출 수 제한, 노선별 타임아웃, 실패한 노선은 결과에 실패로 남기고 나머지는 계속 진행
+     */
+    public Mono<List<LineFetchResult>> fetchLines(Collection<String> lineNumbers) {
+        log.info("🚇 배치 시작: {}개 노선 조회 [{}]", lineNumbers.size(), String.join(", ", lineNumbers));
+        long startTime = System.currentTimeMillis();
 
-            log.info("🚇 배치 완료: 총 {}대 열차 (실제: {}대, Mock: {}대) | 소요시간: {}ms | API 호출수: {}",
-                    allTrains.size(), realCount, mockCount, duration, dailyCallCount.get());
+        return Flux.fromIterable(lineNumbers)
+                .flatMap(this::fetchLine, Math.max(1, fetchConcurrency))
+                .collectList()
+                .doOnNext(results -> {
+                    List<TrainPosition> allTrains = results.stream()
+                            .filter(LineFetchResult::isSuccess)
+                            .flatMap(result -> result.positions().stream())
+                            .toList();
+
+                    // 데이터 소스별 통계
+                    long realCount = allTrains.stream().filter(t -> "SEOUL_OPENAPI".equals(t.getDataSource())).count();
+                    long mockCount = allTrains.stream().filter(t -> MetroMockEngine.DATA_SOURCE.equals(t.getDataSource())).count();
+                    long failedCount = results.stream().filter(result -> !result.isSuccess()).count();
+                    long duration = System.currentTimeMillis() - startTime;
+
+                    log.info("🚇 배치 완료: 총 {}대 열차 (실제: {}대, Mock: {}대) | 실패 노선: {}개 | 소요시간: {}ms | API 호출수: {}",
+                            allTrains.size(), realCount, mockCount, failedCount, duration, apiQuota.getDailyCallCount());
+                });
+    }
 
-            return allTrains;
+    /**
+     *  단일 노선 조회 (구독 시점부터 지연 시간 측정)
+     *  대체 데이터로 응답한 노선은 degraded(실패)로 보고 → 스케줄러가 기존 캐시를 유지
+     */
+    private Mono<LineFetchResult> fetchLine(String lineNumber) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return resolvePositions(lineNumber)
+                    .map(data -> data.fallbackCause() == null
+                            ? LineFetchResult.success(lineNumber, data.positions(), elapsedMillis(startNanos))
+                            : LineFetchResult.degraded(lineNumber, data.positions(), data.fallbackCause(),
+                                    elapsedMillis(startNanos)))
+                    .onErrorResume(error -> Mono.just(
+                            LineFetchResult.failure(lineNumber, error, elapsedMillis(startNanos))));
         });
     }
 
+    private long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
     /**
-     *  현실적인 Mock 데이터 생성
+     *  Mock 데이터 - 공용 시뮬레이션 엔진의 현재 tick 스냅샷
      */
     private Mono<List<TrainPosition>> createRealisticMockData(String lineNumber) {
-        List<String> stations = getStationsForLine(lineNumber);
-        int trainCount = getRealisticTrainCountForTime(lineNumber);
-        List<TrainPosition> mockData = new ArrayList<>();
-        Random random = new Random();
-
-        for (int i = 0; i < trainCount; i++) {
-            String stationName = stations.get(random.nextInt(stations.size()));
-
-            TrainPosition position = TrainPosition.builder()
-                    .trainId(generateRealisticTrainId(lineNumber, i))
-                    .lineNumber(Integer.parseInt(lineNumber))
-                    .stationId("MOCK_" + lineNumber + String.format("%03d", i))
-                    .stationName(stationName)
-                    .frontendStationId(stationName)
-                    .direction(random.nextBoolean() ? "up" : "down")
-                    .lastUpdated(LocalDateTime.now().minusSeconds(random.nextInt(300)))
-                    .dataSource("MOCK_REALISTIC")
-                    .realtime(false)
-                    .build();
-
-            mockData.add(position);
-        }
-
-        return Mono.just(mockData);
+        return Mono.fromSupplier(() -> mockEngine.getLinePositions(Integer.valueOf(lineNumber)));
     }
 
     // ===== 유틸리티 메서드들 =====
@@ -230,42 +416,6 @@ public class MetroApiService {
         return key.substring(0, 4) + "****" + key.substring(key.length() - 4);
     }
 
-    /**
-     * 노선별 주요 역 목록
-     */
-    private List<String> getStationsForLine(String lineNumber) {
-        Map<String, List<String>> stationsByLine = Map.of(
-                "1", Arrays.asList("서울역", "종각", "시청", "용산", "영등포", "구로", "온수"),
-                "2", Arrays.asList("을지로입구", "건대입구", "잠실", "강남", "사당", "홍대입구", "신촌"),
-                "3", Arrays.asList("구파발", "불광", "독립문", "종로3가", "압구정", "교대", "양재"),
-                "4", Arrays.asList("당고개", "창동", "혜화", "명동", "서울역", "사당")
-        );
-        return stationsByLine.getOrDefault(lineNumber, Arrays.asList("역1", "역2", "역3"));
-    }
-
-    /**
-     * 시간대별 현실적인 열차 수
-     */
-    private int getRealisticTrainCountForTime(String lineNumber) {
-        Map<String, Integer> baseCounts = Map.of("1", 8, "2", 12, "3", 7, "4", 6);
-        int baseCount = baseCounts.getOrDefault(lineNumber, 5);
-
-        int hour = LocalDateTime.now().getHour();
-        if (hour >= 7 && hour <= 9 || hour >= 18 && hour <= 20) {
-            return baseCount + 3; // 출퇴근시간 증가
-        } else if (hour >= 0 && hour <= 5) {
-            return Math.max(2, baseCount - 3); // 심야시간 감소
-        }
-        return baseCount;
-    }
-
-    /**
-     * 현실적인 열차번호 생성
-     */
-    private String generateRealisticTrainId(String lineNumber, int index) {
-        return String.format("%s%04d", lineNumber, 1000 + index);
-    }
-
     /**
      * 역명 정제
      */
@@ -298,12 +448,12 @@ public class MetroApiService {
     }
 
     /**
-     * API 호출 카운트 증가
+     * API 호출 수 로그 (10건 단위)
      */
-    private void incrementCallCount() {
-        int count = dailyCallCount.incrementAndGet();
+    private void logCallCount() {
+        int count = apiQuota.getLocalCallCount();
         if (count % 10 == 0) {
-            log.info("일일 OpenAPI 호출 수: {}", count);
+            log.info("일일 OpenAPI 호출 수: 노드 {} / 클러스터 약 {}", count, apiQuota.getDailyCallCount());
         }
     }
 
@@ -317,12 +467,18 @@ public class MetroApiService {
         return enabledLines.contains(lineNumber);
     }
 
+    /**
+     * 오늘 API 호출 수 (클러스터 전체, Redis 일일 카운터 기준)
+     */
     public int getDailyCallCount() {
-        return dailyCallCount.get();
+        return apiQuota.getDailyCallCount();
     }
 
+    /**
+     * 날짜 전환 - 로컬 임대분 폐기 (클러스터 카운터는 날짜 키로 자동 분리)
+     */
     public void resetDailyCallCount() {
-        dailyCallCount.set(0);
+        apiQuota.resetDay();
         log.info("일일 API 호출 카운트 초기화");
     }
 
@@ -340,10 +496,51 @@ public class MetroApiService {
         return Map.of(
                 "apiEnabled", apiEnabled,
                 "validApiKey", isValidApiKey(),
-                "dailyCalls", dailyCallCount.get(),
+                "dailyCalls", apiQuota.getDailyCallCount(),
                 "enabledLines", enabledLines,
                 "baseUrl", baseUrl,
-                "timeout", timeoutMs
+                "timeout", timeoutMs,
+                "circuitStates", circuitBreaker.getStates()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * 노선별 조회 결과 (성공 시 열차 목록, 실패 시 오류) + 지연 시간
+     */
+    public record LineFetchResult(String lineNumber, List<TrainPosition> positions,
+                                  Throwable error, long latencyMillis, boolean degraded) {
+
+        static LineFetchResult success(String lineNumber, List<TrainPosition> positions, long latencyMillis) {
+            return new LineFetchResult(lineNumber, positions != null ? positions : List.of(), null, latencyMillis, false);
+        }
+
+        // 조회 실패 후 대체 데이터(마지막 정상 데이터/Mock)로 응답 - 실패로 집계
+        static LineFetchResult degraded(String lineNumber, List<TrainPosition> positions, Throwable cause,
+                                        long latencyMillis) {
+            return new LineFetchResult(lineNumber, positions != null ? positions : List.of(), cause, latencyMillis, true);
+        }
+
+        static LineFetchResult failure(String lineNumber, Throwable error, long latencyMillis) {
+            return new LineFetchResult(lineNumber, List.of(), error, latencyMillis, false);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /**
+     *  재시도 중 일일 호출 한도 소진 (재시도하지 않음)
+     */
+    private static class QuotaExhaustedException extends RuntimeException {
+        QuotaExhaustedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     *  노선 조회 결과 (fallbackCause: 대체 데이터 사용 사유, 정상 조회면 null)
+     */
+    private record LineData(List<TrainPosition> positions, Throwable fallbackCause) {
+    }
+}
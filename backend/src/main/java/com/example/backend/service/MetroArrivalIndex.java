@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+import com.example.backend.dto.station.StationArrivalDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 역별 도착 예정 인덱스
+ *
+ * 스케줄러 갱신마다 열차 위치를 뒤집어 "역 → 노선·방향 → 도착 예정 열차(가까운 순)" 목록을 미리 만든다.
+ * 도착 예상 시간은 MetroTrajectoryService가 학습한 구간 소요 시간 기준.
+ * 조회는 역 ID(API) 또는 역명으로 맵 한 번 조회 + 항목별 관측 이후 경과 시간 보정만 수행한다.
+ * - 노선마다 폴링 주기가 달라 관측 시각은 노선별로 보관
+ * - 관측 후 max-age가 지난 노선(폴링 중단 등)은 조회/인덱스에서 제외
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetroArrivalIndex {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final MetroTrajectoryService trajectoryService;
+
+    // 열차별로 앞으로 지나갈 역 수 (현재 역 제외)
+    @Value("${seoul.metro.arrival.lookahead-stations:5}")
+    private int lookaheadStations;
+
+    // 노선·방향별 최대 표시 열차 수
+    @Value("${seoul.metro.arrival.max-per-direction:3}")
+    private int maxPerDirection;
+
+    // 관측 후 도착 정보로 사용할 최대 경과 시간
+    @Value("${seoul.metro.arrival.max-age-seconds:900}")
+    private int maxAgeSeconds;
+
+    // 노선별 역 도착 목록 (갱신된 노선만 교체) → 전체 노선 합친 조회용 인덱스
+    private final Map<Integer, LineArrivals> byLine = new ConcurrentHashMap<>();
+    private final AtomicReference<Map<String, Map<String, List<Arrival>>>> snapshot = new AtomicReference<>(Map.of());
+
+    /**
+     * 갱신된 노선의 역별 도착 목록 재계산 후 조회 인덱스 교체
+     */
+    public synchronized void rebuild(Map<String, List<TrainPosition>> positionsByLine, long observedAtMillis) {
+        positionsByLine.forEach((lineKey, positions) -> {
+            Map<String, Map<String, List<Arrival>>> stations = new HashMap<>();
+            for (TrainPosition train : positions) {
+                for (MetroTrajectoryService.UpcomingStop stop :
+                        trajectoryService.upcomingStops(train, observedAtMillis, lookaheadStations)) {
+                    Arrival arrival = new Arrival(train, stop, observedAtMillis);
+                    // 환승역에서 노선끼리 섞이지 않도록 노선+방향 단위로 분리 (예: "2호선 상행")
+                    stations.computeIfAbsent(stop.stationName(), key -> new HashMap<>())
+                            .computeIfAbsent(train.getDisplayLineName() + " " + train.getDisplayDirection(),
+                                    key -> new ArrayList<>())
+                            .add(arrival);
+                }
+            }
+            byLine.put(Integer.valueOf(lineKey), new LineArrivals(observedAtMillis, stations));
+        });
+
+        // 오래 갱신되지 않은 노선 제외
+        long staleBefore = System.currentTimeMillis() - maxAgeSeconds * 1000L;
+        byLine.values().removeIf(line -> line.observedAtMillis() < staleBefore);
+
+        Map<String, Map<String, List<Arrival>>> merged = new HashMap<>();
+        byLine.values().forEach(line -> line.stations().forEach((stationName, directions) -> {
+            Map<String, List<Arrival>> target = merged.computeIfAbsent(stationName, key -> new LinkedHashMap<>());
+            directions.forEach((direction, arrivals) ->
+                    target.computeIfAbsent(direction, key -> new ArrayList<>()).addAll(arrivals));
+        }));
+
+        // 방향별 가까운 순 정렬 + 상한 적용, API 역 ID 별칭 등록
+        Map<String, Map<String, List<Arrival>>> index = new HashMap<>(merged.size() * 2);
+        merged.forEach((stationName, directions) -> {
+            Map<String, List<Arrival>> frozen = new LinkedHashMap<>();
+            directions.forEach((direction, arrivals) -> frozen.put(direction, arrivals.stream()
+                    .sorted(Comparator.comparingInt(arrival -> arrival.stop().etaSeconds()))
+                    .limit(maxPerDirection)
+                    .toList()));
+            Map<String, List<Arrival>> immutable = Map.copyOf(frozen);
+
+            index.put(stationName, immutable);
+            directions.values().stream()
+                    .flatMap(List::stream)
+                    .flatMap(arrival -> arrival.stop().stationIds().stream())
+                    .forEach(stationId -> index.put(stationId, immutable));
+        });
+
+        snapshot.set(index);
+        log.debug("역별 도착 인덱스 갱신: {}개 키", index.size());
+    }
+
+    /**
+     * 역 도착 예정 (노선·방향 → 가까운 순 목록, 도착 시간은 항목별 관측 시각 기준으로 보정)
+     * 노선도에 없는 역이면 null
+     */
+    public Map<String, List<StationArrivalDto>> getArrivals(String stationKey) {
+        if (!trajectoryService.hasStation(stationKey)) {
+            return null;
+        }
+
+        Map<String, List<Arrival>> directions = snapshot.get().get(stationKey);
+        if (directions == null) {
+            return Map.of();
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long staleBefore = nowMillis - maxAgeSeconds * 1000L;
+
+        Map<String, List<StationArrivalDto>> result = new LinkedHashMap<>();
+        directions.forEach((direction, arrivals) -> {
+            List<StationArrivalDto> fresh = arrivals.stream()
+                    .filter(arrival -> arrival.observedAtMillis() >= staleBefore)
+                    .map(arrival -> arrival.toDto(nowMillis))
+                    .toList();
+            if (!fresh.isEmpty()) {
+                result.put(direction, fresh);
+            }
+        });
+        return result;
+    }
+
+    private record LineArrivals(long observedAtMillis, Map<String, Map<String, List<Arrival>>> stations) {
+    }
+
+    private record Arrival(TrainPosition train, MetroTrajectoryService.UpcomingStop stop, long observedAtMillis) {
+
+        StationArrivalDto toDto(long nowMillis) {
+            int sinceObservedSeconds = (int) Math.max(0, (nowMillis - observedAtMillis) / 1000);
+            LocalDateTime fetchTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(observedAtMillis), ZONE);
+            boolean atStation = stop.stopsAway() == 0;
+            int arrivalTime = atStation ? 0 : Math.max(0, stop.etaSeconds() - sinceObservedSeconds);
+            return StationArrivalDto.builder()
+                    .trainNo(train.getTrainId())
+                    .stationName(stop.stationName())
+                    .arrivalTime(arrivalTime)
+                    .arrivalMessage(arrivalMessage(atStation, arrivalTime))
+                    .trainLine(train.getDisplayLineName())
+                    .direction(train.getDisplayDirection())
+                    .trainStatus(atStation ? "도착" : stop.stopsAway() == 1 ? "접근" : "운행")
+                    .fetchTime(fetchTime)
+                    .build();
+        }
+
+        private String arrivalMessage(boolean atStation, int arrivalTime) {
+            if (atStation) {
+                return "당역 도착";
+            }
+            if (arrivalTime < 60) {
+                return "곧 도착";
+            }
+            return String.format("%d분 후 도착 (%d역 전)", arrivalTime / 60, stop.stopsAway());
+        }
+    }
+}
@@ -5,18 +5,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 지하철 캐시 서비스 (최종 버전)
  * 위치 정보만 캐싱하는 단순화된 구조
+ *
+ * 조회 경로: 프로세스 내 L1 스냅샷 → Redis (노드 간 원본, 워밍업용)
  */
 @Slf4j
 @Service
@@ -25,10 +39,21 @@ public class MetroCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final MetroPositionCodec positionCodec;
 
     @Value("${seoul.metro.cache.ttl:420}")
     private int cacheTtlSeconds;
 
+    @Value("${seoul.metro.cache.local-refresh:30}")
+    private int localRefreshSeconds;
+
+    // 위치 캐시 저장 형식 ("binary": 압축 코덱, "json": 기존 형식) - 조회는 두 형식 모두 지원
+    @Value("${seoul.metro.cache.format:binary}")
+    private String cacheFormat;
+
+    // L1 스냅샷 - 스케줄러 갱신 시 통째로 교체되는 불변 객체
+    private final AtomicReference<PositionSnapshot> snapshot = new AtomicReference<>(PositionSnapshot.EMPTY);
+
     // Redis 키 패턴 (단순화)
     private static final String METRO_POSITIONS_KEY = "metro:positions:line:";
     private static final String METRO_ALL_POSITIONS_KEY = "metro:all_positions";
@@ -36,43 +61,114 @@ public class MetroCacheService {
     private static final String METRO_LAST_UPDATE_KEY = "metro:last_update";
 
     /**
-     * 특정 노선의 위치 데이터 캐시 저장
+     * 스케줄러 갱신 결과 일괄 반영 (전체 + 노선별 + 마지막 업데이트 시간 + 건강 상태)
+     * L1 스냅샷을 먼저 교체한 뒤 Redis에는 MULTI/EXEC 파이프라인 한 번으로 기록
      */
-    public void cacheLinePositions(String lineNumber, List<TrainPosition> positions) {
-        try {
-            String key = METRO_POSITIONS_KEY + lineNumber;
+    public void publishPositions(List<TrainPosition> allPositions, Map<String, List<TrainPosition>> positionsByLine,
+                                 Long sequence, LocalDateTime updateTime, String healthDetails) {
+        PositionCacheData allData = buildCacheData("ALL", allPositions, updateTime, sequence);
+        Map<String, SnapshotEntry> lineEntries = new HashMap<>();
+        positionsByLine.forEach((line, positions) ->
+                lineEntries.put(line, SnapshotEntry.published(buildCacheData(line, positions, updateTime, sequence))));
 
-            PositionCacheData cacheData = PositionCacheData.builder()
-                    .lineNumber(lineNumber)
-                    .positions(positions)
-                    .lastUpdated(LocalDateTime.now())
-                    .nextUpdateTime(LocalDateTime.now().plusSeconds(cacheTtlSeconds))
-                    .isHealthy(true)
-                    .dataSource("API")
-                    .build();
+        // 이번에 조회하지 않은 노선의 L1 엔트리는 유지
+        snapshot.updateAndGet(current -> current.withPublished(SnapshotEntry.published(allData), lineEntries));
 
-            String jsonData = objectMapper.writeValueAsString(cacheData);
-            redisTemplate.opsForValue().set(key, jsonData, cacheTtlSeconds, TimeUnit.SECONDS);
+        try {
+            // 직렬화는 파이프라인 밖에서 미리 수행
+            Map<String, byte[]> values = new LinkedHashMap<>();
+            values.put(METRO_ALL_POSITIONS_KEY, encodePositions(allData));
+            for (Map.Entry<String, SnapshotEntry> entry : lineEntries.entrySet()) {
+                values.put(METRO_POSITIONS_KEY + entry.getKey(), encodePositions(entry.getValue().data()));
+            }
+            values.put(METRO_LAST_UPDATE_KEY, serializeValue(updateTime.toString()));
+            byte[] healthValue = serializeValue(objectMapper.writeValueAsString(
+                    new HealthStatus("HEALTHY", healthDetails, LocalDateTime.now())));
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.multi();
+                values.forEach((key, value) -> connection.stringCommands().set(rawKey(key), value,
+                        Expiration.seconds(cacheTtlSeconds), RedisStringCommands.SetOption.upsert()));
+                connection.stringCommands().set(rawKey(METRO_HEALTH_KEY), healthValue,
+                        Expiration.seconds(300), RedisStringCommands.SetOption.upsert()); // 5분 TTL
+                connection.exec();
+                return null;
+            });
+
+            log.info("지하철 위치 캐시 일괄 저장: 전체 {}대, {}개 노선",
+                    allData.getPositions().size(), lineEntries.size());
 
         } catch (Exception e) {
-            log.error("{}호선 위치 데이터 캐시 저장 실패: {}", lineNumber, e.getMessage());
+            log.error("지하철 위치 캐시 일괄 저장 실패: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * 특정 노선의 위치 데이터 캐시 조회
+     * 특정 노선의 위치 데이터 캐시 저장
+     */
+    public void cacheLinePositions(String lineNumber, List<TrainPosition> positions) {
+        cacheLinePositions(lineNumber, positions, null);
+    }
+
+    /**
+     * 특정 노선의 위치 데이터 캐시 저장 (변경분 시퀀스 포함)
+     */
+    public void cacheLinePositions(String lineNumber, List<TrainPosition> positions, Long sequence) {
+        PositionCacheData cacheData = buildCacheData(lineNumber, positions, LocalDateTime.now(), sequence);
+        snapshot.updateAndGet(current -> current.withLine(lineNumber, SnapshotEntry.published(cacheData)));
+        writeLinePositions(lineNumber, cacheData);
+    }
+
+    /**
+     * 특정 노선의 위치 데이터 캐시 조회 (L1 우선)
      */
     public PositionCacheData getLinePositions(String lineNumber) {
-        try {
-            String key = METRO_POSITIONS_KEY + lineNumber;
-            Object cachedData = redisTemplate.opsForValue().get(key);
+        SnapshotEntry local = snapshot.get().line(lineNumber);
+        if (isEntryFresh(local)) {
+            return local.data();
+        }
 
-            if (cachedData == null) {
-                return null;
+        PositionCacheData remote = readLinePositions(lineNumber);
+        if (remote != null) {
+            snapshot.updateAndGet(current -> current.withLine(lineNumber, SnapshotEntry.loaded(remote)));
+        }
+        return remote;
+    }
+
+    /**
+     * 다른 노드가 갱신한 노선을 Redis에서 다시 읽어 L1 교체 (리더 갱신 알림 수신 시, 전체 노선 포함)
+     *
+     * @return 노선별 최신 캐시 (Redis에 없는 노선 제외)
+     */
+    public Map<String, PositionCacheData> reloadLinePositions(Collection<String> lineNumbers) {
+        Map<String, PositionCacheData> reloaded = new HashMap<>();
+        for (String line : lineNumbers) {
+            PositionCacheData remote = readLinePositions(line);
+            if (remote != null) {
+                reloaded.put(line, remote);
+                snapshot.updateAndGet(current -> current.withLine(line, SnapshotEntry.loaded(remote)));
             }
+        }
+
+        PositionCacheData all = readAllPositions();
+        if (all != null) {
+            snapshot.updateAndGet(current -> current.withAll(SnapshotEntry.loaded(all)));
+        }
+        return reloaded;
+    }
 
-            PositionCacheData result = objectMapper.readValue(cachedData.toString(), PositionCacheData.class);
-            return result;
+    private void writeLinePositions(String lineNumber, PositionCacheData cacheData) {
+        try {
+            writeRaw(METRO_POSITIONS_KEY + lineNumber, encodePositions(cacheData));
+
+        } catch (Exception e) {
+            log.error("{}호선 위치 데이터 캐시 저장 실패: {}", lineNumber, e.getMessage());
+        }
+    }
+
+    private PositionCacheData readLinePositions(String lineNumber) {
+        try {
+            return decodePositions(readRaw(METRO_POSITIONS_KEY + lineNumber));
 
         } catch (Exception e) {
             log.error("{}호선 위치 데이터 캐시 조회 실패: {}", lineNumber, e.getMessage());
@@ -84,38 +180,41 @@ public class MetroCacheService {
      * 전체 노선 위치 데이터 캐시 저장
      */
     public void cacheAllPositions(List<TrainPosition> allPositions) {
-        try {
-            PositionCacheData cacheData = PositionCacheData.builder()
-                    .lineNumber("ALL")
-                    .positions(allPositions)
-                    .lastUpdated(LocalDateTime.now())
-                    .nextUpdateTime(LocalDateTime.now().plusSeconds(cacheTtlSeconds))
-                    .isHealthy(true)
-                    .dataSource("API")
-                    .build();
-
-            String jsonData = objectMapper.writeValueAsString(cacheData);
-            redisTemplate.opsForValue().set(METRO_ALL_POSITIONS_KEY, jsonData, cacheTtlSeconds, TimeUnit.SECONDS);
-            log.info("전체 노선 위치 데이터 캐시 저장: {}대 열차", allPositions != null ? allPositions.size() : 0);
-
-        } catch (Exception e) {
-            log.error("전체 노선 위치 데이터 캐시 저장 실패: {}", e.getMessage());
-        }
+        PositionCacheData cacheData = buildCacheData("ALL", allPositions, LocalDateTime.now(), null);
+        snapshot.updateAndGet(current -> current.withAll(SnapshotEntry.published(cacheData)));
+        writeAllPositions(cacheData);
     }
 
     /**
-     * 전체 노선 위치 데이터 캐시 조회
+     * 전체 노선 위치 데이터 캐시 조회 (L1 우선)
      */
     public PositionCacheData getAllPositions() {
+        SnapshotEntry local = snapshot.get().all();
+        if (isEntryFresh(local)) {
+            return local.data();
+        }
+
+        PositionCacheData remote = readAllPositions();
+        if (remote != null) {
+            snapshot.updateAndGet(current -> current.withAll(SnapshotEntry.loaded(remote)));
+        }
+        return remote;
+    }
+
+    private void writeAllPositions(PositionCacheData cacheData) {
         try {
-            Object cachedData = redisTemplate.opsForValue().get(METRO_ALL_POSITIONS_KEY);
+            writeRaw(METRO_ALL_POSITIONS_KEY, encodePositions(cacheData));
+            log.info("전체 노선 위치 데이터 캐시 저장: {}대 열차",
+                    cacheData.getPositions() != null ? cacheData.getPositions().size() : 0);
 
-            if (cachedData == null) {
-                return null;
-            }
+        } catch (Exception e) {
+            log.error("전체 노선 위치 데이터 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
 
-            PositionCacheData result = objectMapper.readValue(cachedData.toString(), PositionCacheData.class);
-            return result;
+    private PositionCacheData readAllPositions() {
+        try {
+            return decodePositions(readRaw(METRO_ALL_POSITIONS_KEY));
 
         } catch (Exception e) {
             log.error("전체 노선 위치 데이터 캐시 조회 실패: {}", e.getMessage(), e);
@@ -123,6 +222,75 @@ public class MetroCacheService {
         }
     }
 
+    /**
+     * 위치 캐시 값 인코딩 (binary 코덱 또는 기존 JSON 이중 직렬화)
+     */
+    private byte[] encodePositions(PositionCacheData cacheData) throws IOException {
+        if ("json".equalsIgnoreCase(cacheFormat)) {
+            return serializeValue(objectMapper.writeValueAsString(cacheData));
+        }
+        return positionCodec.encode(cacheData);
+    }
+
+    /**
+     * 위치 캐시 값 디코딩 (매직 헤더로 형식 판별, 없으면 JSON 폴백)
+     */
+    private PositionCacheData decodePositions(byte[] raw) throws IOException {
+        if (raw == null) {
+            return null;
+        }
+        if (positionCodec.isBinary(raw)) {
+            return positionCodec.decode(raw);
+        }
+
+        Object cachedData = redisTemplate.getValueSerializer().deserialize(raw);
+        return cachedData != null ? objectMapper.readValue(cachedData.toString(), PositionCacheData.class) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serializeValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeRaw(String key, byte[] value) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands().set(rawKey(key), value,
+                Expiration.seconds(cacheTtlSeconds), RedisStringCommands.SetOption.upsert()));
+    }
+
+    private byte[] readRaw(String key) {
+        return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key)));
+    }
+
+    private PositionCacheData buildCacheData(String lineNumber, List<TrainPosition> positions,
+                                             LocalDateTime now, Long sequence) {
+        return PositionCacheData.builder()
+                .lineNumber(lineNumber)
+                .positions(positions != null ? List.copyOf(positions) : List.of())
+                .lastUpdated(now)
+                .nextUpdateTime(now.plusSeconds(cacheTtlSeconds))
+                .isHealthy(true)
+                .dataSource("API")
+                .sequence(sequence)
+                .build();
+    }
+
+    /**
+     * L1 엔트리 신선도 검사
+     * - 이 노드가 발행한 데이터: 캐시 TTL 동안 유효
+     * - Redis에서 적재한 데이터: 다른 노드의 갱신을 반영하도록 local-refresh 주기마다 재조회
+     */
+    private boolean isEntryFresh(SnapshotEntry entry) {
+        if (entry == null || !isCacheValid(entry.data())) {
+            return false;
+        }
+        return entry.published() ||
+                System.currentTimeMillis() - entry.loadedAtMillis() < localRefreshSeconds * 1000L;
+    }
+
     /**
      * 시스템 건강 상태 저장
      */
@@ -205,6 +373,7 @@ public class MetroCacheService {
      * 특정 노선 캐시 삭제
      */
     public void evictLineCache(String lineNumber) {
+        snapshot.updateAndGet(current -> current.withLine(lineNumber, null));
         try {
             String key = METRO_POSITIONS_KEY + lineNumber;
             redisTemplate.delete(key);
@@ -218,6 +387,7 @@ public class MetroCacheService {
      * 전체 지하철 캐시 삭제 (긴급 시)
      */
     public void evictAllMetroCache() {
+        snapshot.set(PositionSnapshot.EMPTY);
         try {
             // 활성화된 노선별 캐시 삭제 (1-4호선)
             for (String line : Arrays.asList("1", "2", "3", "4")) {
@@ -276,6 +446,64 @@ public class MetroCacheService {
 
     // === 내부 클래스들 ===
 
+    /**
+     * L1 스냅샷 엔트리 (발행 여부 + 적재 시각)
+     */
+    private record SnapshotEntry(PositionCacheData data, boolean published, long loadedAtMillis) {
+
+        static SnapshotEntry published(PositionCacheData data) {
+            return new SnapshotEntry(data, true, System.currentTimeMillis());
+        }
+
+        static SnapshotEntry loaded(PositionCacheData data) {
+            return new SnapshotEntry(data, false, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 불변 위치 스냅샷 (전체 + 노선별)
+     * 부분 갱신은 복사 후 교체(copy-on-write)
+     */
+    private static final class PositionSnapshot {
+        static final PositionSnapshot EMPTY = new PositionSnapshot(null, Map.of());
+
+        private final SnapshotEntry all;
+        private final Map<String, SnapshotEntry> lines;
+
+        PositionSnapshot(SnapshotEntry all, Map<String, SnapshotEntry> lines) {
+            this.all = all;
+            this.lines = Collections.unmodifiableMap(new HashMap<>(lines));
+        }
+
+        SnapshotEntry all() {
+            return all;
+        }
+
+        SnapshotEntry line(String lineNumber) {
+            return lines.get(lineNumber);
+        }
+
+        PositionSnapshot withAll(SnapshotEntry entry) {
+            return new PositionSnapshot(entry, lines);
+        }
+
+        PositionSnapshot withPublished(SnapshotEntry allEntry, Map<String, SnapshotEntry> lineEntries) {
+            Map<String, SnapshotEntry> copy = new HashMap<>(lines);
+            copy.putAll(lineEntries);
+            return new PositionSnapshot(allEntry, copy);
+        }
+
+        PositionSnapshot withLine(String lineNumber, SnapshotEntry entry) {
+            Map<String, SnapshotEntry> copy = new HashMap<>(lines);
+            if (entry == null) {
+                copy.remove(lineNumber);
+            } else {
+                copy.put(lineNumber, entry);
+            }
+            return new PositionSnapshot(all, copy);
+        }
+    }
+
     public static class PositionCacheData {
         public String lineNumber;
         public List<TrainPosition> positions;
@@ -283,6 +511,7 @@ public class MetroCacheService {
         public LocalDateTime nextUpdateTime;
         public Boolean isHealthy;
         public String dataSource;
+        public Long sequence;
 
         public PositionCacheData() {}
 
@@ -323,6 +552,11 @@ public class MetroCacheService {
                 return this;
             }
 
+            public PositionCacheDataBuilder sequence(Long sequence) {
+                data.sequence = sequence;
+                return this;
+            }
+
             public PositionCacheData build() {
                 return data;
             }
@@ -335,6 +569,7 @@ public class MetroCacheService {
         public LocalDateTime getNextUpdateTime() { return nextUpdateTime; }
         public Boolean getIsHealthy() { return isHealthy; }
         public String getDataSource() { return dataSource; }
+        public Long getSequence() { return sequence; }
     }
 
     public static class HealthStatus {
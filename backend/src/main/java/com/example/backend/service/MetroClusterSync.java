@@ -0,0 +1,82 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 지하철 위치 갱신 노드 간 알림 (Redis pub/sub)
+ *
+ * 리더가 공유 캐시(Redis)에 위치를 반영한 뒤 시퀀스/노선을 알리면, 팔로워는 캐시를 다시 읽어
+ * 변경분/SSE 전파/도착 인덱스/궤적 학습을 리더와 같은 시퀀스로 반영한다.
+ * - 자신이 보낸 알림은 무시
+ * - 알림 유실 시 다음 알림에서 직전 스냅샷 대비 변경분으로 따라잡음
+ * - 리더 선출 비활성화(단일 노드) 시 송수신하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetroClusterSync {
+
+    private static final String UPDATE_CHANNEL = "metro:updates";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final LeaderElectionService leaderElection;
+
+    /**
+     * 갱신 알림 수신 등록 (팔로워 처리)
+     */
+    public void onUpdate(Consumer<UpdateNotice> handler) {
+        if (!leaderElection.isEnabled()) {
+            return;
+        }
+
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                UpdateNotice notice = objectMapper.readValue(
+                        new String(message.getBody(), StandardCharsets.UTF_8), UpdateNotice.class);
+                if (!leaderElection.getNodeId().equals(notice.nodeId())) {
+                    handler.accept(notice);
+                }
+            } catch (Exception e) {
+                log.warn("지하철 갱신 알림 처리 실패: {}", e.getMessage());
+            }
+        }, new ChannelTopic(UPDATE_CHANNEL));
+        log.info("지하철 갱신 알림 구독: channel={}", UPDATE_CHANNEL);
+    }
+
+    /**
+     * 갱신 알림 전송 (리더, 공유 캐시 반영 후)
+     */
+    public void broadcast(long sequence, Collection<String> lineNumbers, long observedAtMillis, boolean replay) {
+        if (!leaderElection.isEnabled()) {
+            return;
+        }
+
+        try {
+            UpdateNotice notice = new UpdateNotice(leaderElection.getNodeId(), sequence,
+                    List.copyOf(lineNumbers), observedAtMillis, replay);
+            redisTemplate.convertAndSend(UPDATE_CHANNEL, objectMapper.writeValueAsString(notice));
+        } catch (Exception e) {
+            log.warn("지하철 갱신 알림 전송 실패: seq={}, {}", sequence, e.getMessage());
+        }
+    }
+
+    /**
+     * 갱신 알림 - 보낸 노드, 변경분 시퀀스, 갱신 노선, 관측 시각, 리플레이 여부
+     */
+    public record UpdateNotice(String nodeId, long sequence, List<String> lines, long observedAtMillis,
+                               boolean replay) {
+    }
+}
@@ -9,10 +9,14 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -26,6 +30,16 @@ public class MetroDataScheduler {
     private final MetroApiService metroApiService;
     private final MetroCacheService metroCacheService;
     private final MetroStationFilter stationFilter;
+    private final MetroResponseRenderer responseRenderer;
+    private final MetroStreamService streamService;
+    private final MetroDeltaService deltaService;
+    private final MetroPollingPlanner pollingPlanner;
+    private final MetroDemandTracker demandTracker;
+    private final MetroTrajectoryService trajectoryService;
+    private final MetroHistoryStore historyStore;
+    private final MetroArrivalIndex arrivalIndex;
+    private final LeaderElectionService leaderElection;
+    private final MetroClusterSync clusterSync;
 
     @Value("${seoul.metro.api.enabled:true}")
     private boolean apiEnabled;
@@ -33,19 +47,37 @@ public class MetroDataScheduler {
     @Value("${seoul.metro.monitoring.daily-limit:950}")
     private int dailyLimit;
 
+    // fixed: update-interval 고정 주기, adaptive: 남은 호출량/시간대/시청 수요 기반
+    @Value("${seoul.metro.scheduler.mode:fixed}")
+    private String schedulerMode;
+
     private final AtomicBoolean isUpdating = new AtomicBoolean(false);
-    private LocalDateTime lastSuccessfulUpdate = null;
+    // 리플레이 중에는 실시간 폴링 중단 (캐시/스트림을 리플레이 데이터가 점유)
+    private final AtomicBoolean replaying = new AtomicBoolean(false);
+    private volatile LocalDateTime lastSuccessfulUpdate = null;
     private LocalDateTime lastLimitWarningTime = null;
-    private int consecutiveFailures = 0;
+    private volatile int consecutiveFailures = 0;
     private static final int MAX_CONSECUTIVE_FAILURES = 5;
 
+    // 적응형 모드 다음 폴링 예정 시각 / 마지막 폴링 시각 (epoch millis)
+    private volatile long nextPollAtMillis = 0;
+    private volatile long lastPollAtMillis = 0;
+
+    // 노선별 마지막 조회 지연 시간
+    private final Map<String, Long> lineLatencyMillis = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // 다중 노드: 팔로워는 리더의 갱신 알림으로 변경분/SSE/도착 인덱스 반영
+        clusterSync.onUpdate(this::applyLeaderUpdate);
+    }
+
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         log.info("=== 지하철 실시간 위치 시스템 시작 ===");
         log.info("API 활성화: {}", apiEnabled);
         log.info("프론트엔드 역 필터링: {}개 역",
-                stationFilter.getFrontendStationIds() != null ?
-                        stationFilter.getFrontendStationIds().size() : 0);
+                stationFilter.getFrontendStationCount());
 
         // 5초 후 첫 번째 업데이트 실행
         new Thread(() -> {
@@ -60,9 +92,48 @@ public class MetroDataScheduler {
 
     @Scheduled(fixedRateString = "${seoul.metro.api.update-interval:360000}")
     public void scheduledUpdate() {
+        if (isAdaptiveMode()) {
+            return;
+        }
         updateAllMetroPositions();
     }
 
+    /**
+     * 적응형 폴링 - 짧은 주기로 깨어나 예정 시각이 지났을 때만 호출
+     * 시청 중인 노선의 캐시가 비어 있으면 최소 간격만 지나도 즉시 조회
+     */
+    @Scheduled(fixedDelayString = "${seoul.metro.scheduler.tick:15000}", initialDelay = 15000)
+    public void adaptiveTick() {
+        if (!isAdaptiveMode() || !apiEnabled || metroApiService == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<String> enabledLines = metroApiService.getEnabledLines();
+        List<String> lines = pollingPlanner.selectLines(enabledLines);
+        boolean due = now >= nextPollAtMillis;
+        boolean coldWatchedLine = now - lastPollAtMillis >= pollingPlanner.getMinIntervalMillis() &&
+                demandTracker.getWatchedLines(enabledLines).stream()
+                        .anyMatch(line -> !isLineCacheWarm(line));
+
+        if (!due && !coldWatchedLine) {
+            return;
+        }
+
+        updatePositions(lines);
+        nextPollAtMillis = now + pollingPlanner.nextDelayMillis(
+                metroApiService.getDailyCallCount(), dailyLimit, lines.size());
+    }
+
+    private boolean isAdaptiveMode() {
+        return "adaptive".equalsIgnoreCase(schedulerMode);
+    }
+
+    private boolean isLineCacheWarm(String lineNumber) {
+        MetroCacheService.PositionCacheData cacheData = metroCacheService.getLinePositions(lineNumber);
+        return cacheData != null && metroCacheService.isCacheValid(cacheData);
+    }
+
     /**
      * 지하철 운행 시간 확인 (심야시간 0시~5시 제외)
      */
@@ -76,10 +147,32 @@ public class MetroDataScheduler {
      * 전체 지하철 위치 데이터 업데이트 - null 안전 처리
      */
     public void updateAllMetroPositions() {
+        if (metroApiService != null) {
+            updatePositions(metroApiService.getEnabledLines());
+        } else {
+            log.error("MetroApiService is null");
+        }
+    }
+
+    /**
+     * 지정 노선 위치 데이터 업데이트 (나머지 노선 캐시는 유지)
+     */
+    private void updatePositions(List<String> lineNumbers) {
         if (!apiEnabled) {
             return;
         }
 
+        if (replaying.get()) {
+            log.debug("리플레이 진행 중 - 실시간 업데이트 건너뜀");
+            return;
+        }
+
+        // 다중 노드: 리더만 API 호출, 팔로워는 갱신 알림(applyLeaderUpdate)으로 공유 캐시(Redis)를 따라감
+        if (!leaderElection.isLeader(LeaderElectionService.METRO_SCHEDULER)) {
+            log.debug("리더 노드가 아님 - 실시간 업데이트 건너뜀");
+            return;
+        }
+
         // 심야시간(0시~6시) 체크
         if (!isOperatingHours()) {
             if (metroCacheService != null) {
@@ -88,30 +181,42 @@ public class MetroDataScheduler {
             return;
         }
 
+        // 진행 중 플래그는 파이프라인 완료(doFinally) 시점에만 해제 → 업데이트 중복 실행 방지
         if (!isUpdating.compareAndSet(false, true)) {
+            log.debug("이전 업데이트 진행 중 - 이번 주기 건너뜀");
             return;
         }
 
+        boolean started = false;
         try {
             if (!checkApiLimit()) {
                 return;
             }
 
-            if (metroApiService != null) {
-                metroApiService.getAllLinesRealtime()
-                        .subscribe(
-                                this::handleSuccessfulUpdate,
-                                this::handleFailedUpdate
-                        );
-            } else {
-                log.error("MetroApiService is null");
-            }
+            lastPollAtMillis = System.currentTimeMillis();
+            long leaderToken = leaderElection.currentToken(LeaderElectionService.METRO_SCHEDULER);
+            metroApiService.fetchLines(lineNumbers)
+                    .doFinally(signal -> isUpdating.set(false))
+                    .subscribe(
+                            results -> {
+                                // 조회 중 리더가 바뀌었으면 결과 폐기 (새 리더의 캐시를 덮어쓰지 않도록)
+                                if (!leaderElection.isStillLeader(LeaderElectionService.METRO_SCHEDULER, leaderToken)) {
+                                    log.warn("리더 변경으로 조회 결과 폐기 (token={})", leaderToken);
+                                    return;
+                                }
+                                handleBatchResults(results);
+                            },
+                            this::handleLiveFailure
+                    );
+            started = true;
 
         } catch (Exception e) {
             log.error("Metro update failed: {}", e.getMessage());
             handleFailedUpdate(e);
         } finally {
-            isUpdating.set(false);
+            if (!started) {
+                isUpdating.set(false);
+            }
         }
     }
 
@@ -119,109 +224,259 @@ public class MetroDataScheduler {
      * 특정 노선 업데이트 - null 안전 처리
      */
     public void updateLineData(String lineNumber) {
-        if (!apiEnabled || !checkApiLimit() || metroApiService == null) {
+        if (!apiEnabled || metroApiService == null) {
             return;
         }
 
         log.info("{}호선 위치 데이터 업데이트 시작", lineNumber);
+        updatePositions(List.of(lineNumber));
+    }
 
-        metroApiService.getRealtimePositions(lineNumber)
-                .subscribe(
-                        allTrains -> {
-                            if (allTrains != null && stationFilter != null) {
-                                try {
-                                    // 프론트엔드 역만 필터링
-                                    List<TrainPosition> filteredTrains = stationFilter.filterLineStations(
-                                            allTrains, Integer.parseInt(lineNumber));
-
-                                    // 캐시 저장
-                                    if (metroCacheService != null) {
-                                        metroCacheService.cacheLinePositions(lineNumber, filteredTrains);
-                                    }
-
-                                    log.info("{}호선 업데이트 완료: {}대 → {}대",
-                                            lineNumber, allTrains.size(), filteredTrains.size());
-                                } catch (Exception e) {
-                                    log.error("{}호선 데이터 처리 중 오류: {}", lineNumber, e.getMessage());
-                                }
-                            }
-                        },
-                        error -> {
-                            log.error("{}호선 업데이트 실패: {}", lineNumber, error.getMessage());
-                            handleLineUpdateFailure(lineNumber, error);
-                        }
-                );
+    /**
+     * 노선별 조회 결과 처리 - 성공한 노선만 반영(부분 성공), 실패 노선은 기존 캐시 유지
+     * 조회 중 리플레이가 시작되었으면 결과 폐기 (리플레이 프레임과 같은 잠금으로 직렬화)
+     */
+    private synchronized void handleBatchResults(List<MetroApiService.LineFetchResult> results) {
+        if (replaying.get()) {
+            log.info("리플레이 진행 중 - 실시간 조회 결과 폐기");
+            return;
+        }
+
+        List<String> succeededLines = new ArrayList<>();
+        List<TrainPosition> allTrains = new ArrayList<>();
+        StringJoiner latencySummary = new StringJoiner(", ");
+
+        for (MetroApiService.LineFetchResult result : results) {
+            lineLatencyMillis.put(result.lineNumber(), result.latencyMillis());
+            if (result.isSuccess()) {
+                succeededLines.add(result.lineNumber());
+                allTrains.addAll(result.positions());
+                latencySummary.add(String.format("%s호선 %dms", result.lineNumber(), result.latencyMillis()));
+            } else {
+                latencySummary.add(String.format("%s호선 %s %dms", result.lineNumber(),
+                        result.degraded() ? "대체" : "실패", result.latencyMillis()));
+                handleLineUpdateFailure(result.lineNumber(), result.error());
+            }
+        }
+        log.info("노선별 응답 시간: {}", latencySummary);
+
+        if (succeededLines.isEmpty()) {
+            handleFailedUpdate(new IllegalStateException(
+                    String.format("전체 %d개 노선 조회 실패", results.size())));
+            return;
+        }
+
+        handleSuccessfulUpdate(allTrains, succeededLines, false);
+    }
+
+    /**
+     * 리플레이 시작 - 실시간 폴링 중단 (이미 진행 중이면 false)
+     */
+    public boolean beginReplay() {
+        return replaying.compareAndSet(false, true);
+    }
+
+    /**
+     * 리플레이 종료 - 다음 주기부터 실시간 폴링 재개
+     */
+    public void endReplay() {
+        replaying.set(false);
+    }
+
+    public boolean isReplaying() {
+        return replaying.get();
+    }
+
+    /**
+     * 기록된 스냅샷을 실시간 갱신과 같은 경로(필터링/캐시/렌더링/SSE 전파)로 반영
+     * 다중 노드에서는 리더만 공유 캐시에 기록 (재생 중 리더가 바뀌면 프레임 폐기)
+     */
+    public synchronized void applyReplaySnapshot(List<TrainPosition> allTrains, List<String> lines) {
+        if (!leaderElection.isLeader(LeaderElectionService.METRO_SCHEDULER)) {
+            log.warn("리더 노드가 아님 - 리플레이 프레임 폐기");
+            return;
+        }
+        handleSuccessfulUpdate(allTrains, lines, true);
+    }
+
+    /**
+     * 실시간 조회 파이프라인 오류 (리플레이 중에는 실패로 집계하지 않음)
+     */
+    private synchronized void handleLiveFailure(Throwable error) {
+        if (replaying.get()) {
+            return;
+        }
+        handleFailedUpdate(error);
     }
 
     // 성공적인 업데이트 처리 - null 안전
-    private void handleSuccessfulUpdate(List<TrainPosition> allTrains) {
+    // replay: 기록된 스냅샷 재생 (궤적 학습/이력 저장 제외 - 재생 데이터가 다시 기록되지 않도록)
+    private void handleSuccessfulUpdate(List<TrainPosition> allTrains, List<String> polledLines, boolean replay) {
         if (allTrains == null) {
             log.warn("Update data is null");
             return;
         }
 
         try {
-            // 1. 프론트엔드 역 필터링
-            List<TrainPosition> filteredTrains = null;
-            if (stationFilter != null) {
-                filteredTrains = stationFilter.filterFrontendStations(allTrains);
-            } else {
-                filteredTrains = allTrains;
-                log.warn("StationFilter is null - proceeding without filtering");
-            }
-
-            // 2. 전체 데이터 캐시
-            if (metroCacheService != null && filteredTrains != null) {
-                metroCacheService.cacheAllPositions(filteredTrains);
-            } else {
-                log.error("Cache failed - metroCacheService: {}, filteredTrains: {}",
-                    metroCacheService != null, filteredTrains != null);
+            if (stationFilter == null || metroApiService == null || metroCacheService == null) {
+                log.error("Post-update dependencies missing - stationFilter: {}, metroApiService: {}, metroCacheService: {}",
+                        stationFilter != null, metroApiService != null, metroCacheService != null);
+                return;
             }
 
-            // 3. 노선별 캐시
-            if (metroApiService != null && metroCacheService != null && filteredTrains != null) {
-                List<String> enabledLines = metroApiService.getEnabledLines();
-                if (enabledLines != null) {
-                    for (String lineNum : enabledLines) {
-                        List<TrainPosition> lineTrains = filteredTrains.stream()
-                                .filter(train -> train != null &&
-                                        lineNum.equals(String.valueOf(train.getLineNumber())))
-                                .toList();
-                        metroCacheService.cacheLinePositions(lineNum, lineTrains);
-                    }
-                }
+            // 0. 대체 데이터(Mock 시뮬레이션) 제외 - 실제 역 ID를 쓰므로 필터를 통과하지만
+            //    실시간 캐시/변경분/궤적 학습/이력에 실제 열차로 기록되면 안 됨 (해당 노선은 빈 데이터로 반영)
+            List<TrainPosition> observedTrains = allTrains.stream()
+                    .filter(train -> train != null && !MetroMockEngine.DATA_SOURCE.equals(train.getDataSource()))
+                    .toList();
+            if (observedTrains.size() < allTrains.size()) {
+                log.debug("대체 데이터 {}대 제외", allTrains.size() - observedTrains.size());
             }
 
-            // 4. 성공 기록
-            lastSuccessfulUpdate = LocalDateTime.now();
+            // 1. 프론트엔드 역 필터링 + 노선별 분리 + 통계 (단일 순회)
+            List<String> enabledLines = metroApiService.getEnabledLines();
+            MetroStationFilter.PartitionedPositions partitioned =
+                    stationFilter.partitionByLine(observedTrains, polledLines);
+            List<TrainPosition> filteredTrains = partitioned.filtered();
+            Map<String, List<TrainPosition>> positionsByLine = partitioned.byLine();
+
+            // 2. 직전 스냅샷 대비 변경분(이동/등장/소멸) 기록
+            //    새로 리더가 된 노드도 공유 캐시의 시퀀스에 이어서 발급 (팔로워가 이전 알림으로 무시하지 않도록)
+            long fromSequence = deltaService.getCurrentSequence();
+            long sequence = deltaService.record(filteredTrains, positionsByLine.keySet().stream()
+                    .map(Integer::parseInt)
+                    .toList(), Math.max(fromSequence, sharedSequence()) + 1);
+
+            // 3. 전체/노선별 캐시 + 마지막 업데이트 시간 + 건강 상태 일괄 반영
+            //    (L1 스냅샷 교체 + Redis 단일 왕복 MULTI/EXEC)
+            LocalDateTime updateTime = LocalDateTime.now();
+            metroCacheService.publishPositions(
+                    mergeUnpolledLines(filteredTrains, polledLines, enabledLines),
+                    positionsByLine, sequence, updateTime,
+                    String.format("정상 업데이트 완료. %s", partitioned.stats().getSummary()));
+
+            // 4. 렌더링/학습/인덱스/SSE 전파 후 팔로워 노드에 갱신 알림
+            long observedAtMillis = System.currentTimeMillis();
+            applyDerivedState(positionsByLine, enabledLines, fromSequence, observedAtMillis, replay);
+            clusterSync.broadcast(sequence, positionsByLine.keySet(), observedAtMillis, replay);
+
+            // 5. 성공 기록
+            lastSuccessfulUpdate = updateTime;
             consecutiveFailures = 0;
-            if (metroCacheService != null) {
-                metroCacheService.setLastUpdateTime(lastSuccessfulUpdate);
-            }
 
-            // 5. 통계 생성
-            String statsMessage = "정상 업데이트 완료";
-            if (stationFilter != null && filteredTrains != null) {
-                MetroStationFilter.FilteringStatistics stats =
-                        stationFilter.generateFilteringStats(allTrains, filteredTrains);
-                if (stats != null) {
-                    statsMessage = String.format("정상 업데이트 완료. %s", stats.getSummary());
-                }
+            if (replay) {
+                log.debug("Metro replay frame applied: {} → {} trains", allTrains.size(), filteredTrains.size());
+            } else {
+                log.info("Metro update success: {} → {} trains, API calls: {}/{}",
+                    allTrains.size(), filteredTrains.size(), metroApiService.getDailyCallCount(), dailyLimit);
             }
 
-            if (metroCacheService != null) {
-                metroCacheService.cacheHealthStatus("HEALTHY", statsMessage);
+        } catch (Exception e) {
+            log.error("Post-update processing failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 캐시 반영 이후 노드별 상태 갱신 (리더/팔로워 공통)
+     * - 응답 JSON(+gzip) 사전 렌더링 - 요청 시에는 바이트 복사만 수행
+     * - 열차별 역 도착 시각/구간 소요 시간 학습 (보간 조회용) + 역별 도착 인덱스 + 이력 저장 (리플레이 제외)
+     * - SSE 구독자에게 노선별 변경분 전파
+     */
+    private void applyDerivedState(Map<String, List<TrainPosition>> positionsByLine, List<String> enabledLines,
+                                   long fromSequence, long observedAtMillis, boolean replay) {
+        if (responseRenderer != null) {
+            responseRenderer.renderAll(enabledLines);
+        }
+
+        if (!replay) {
+            trajectoryService.record(positionsByLine, observedAtMillis);
+            arrivalIndex.rebuild(positionsByLine, observedAtMillis);
+            historyStore.append(positionsByLine, observedAtMillis);
+        }
+
+        if (streamService != null) {
+            streamService.publish(positionsByLine.keySet(), fromSequence);
+        }
+    }
+
+    /**
+     * 공유 캐시(전체 노선)에 기록된 마지막 시퀀스 (단일 노드면 0)
+     */
+    private long sharedSequence() {
+        if (!leaderElection.isEnabled()) {
+            return 0;
+        }
+        MetroCacheService.PositionCacheData allData = metroCacheService.getAllPositions();
+        return allData != null && allData.getSequence() != null ? allData.getSequence() : 0;
+    }
+
+    /**
+     * 리더 갱신 알림 처리 (팔로워) - 공유 캐시에서 갱신된 노선을 다시 읽어
+     * 리더와 같은 시퀀스로 변경분을 기록하고 노드별 상태(SSE/도착 인덱스/궤적 등)를 갱신
+     */
+    private synchronized void applyLeaderUpdate(MetroClusterSync.UpdateNotice notice) {
+        if (leaderElection.isLeader(LeaderElectionService.METRO_SCHEDULER)) {
+            return;
+        }
+        // 이미 반영한(또는 순서가 뒤바뀐) 알림 (첫 알림은 시퀀스 epoch가 달라도 채택)
+        if (deltaService.hasHistory() && notice.sequence() <= deltaService.getCurrentSequence()) {
+            return;
+        }
+
+        try {
+            // 시퀀스가 건너뛰었으면(알림 유실) 놓친 알림의 노선까지 포함되도록 활성 노선 전체를 다시 읽음
+            long current = deltaService.getCurrentSequence();
+            List<String> lines = deltaService.hasHistory() && notice.sequence() > current + 1
+                    ? metroApiService.getEnabledLines() : notice.lines();
+
+            Map<String, List<TrainPosition>> positionsByLine = new HashMap<>();
+            List<TrainPosition> trains = new ArrayList<>();
+            metroCacheService.reloadLinePositions(lines).forEach((line, cacheData) -> {
+                List<TrainPosition> positions = cacheData.getPositions() != null ? cacheData.getPositions() : List.of();
+                positionsByLine.put(line, positions);
+                trains.addAll(positions);
+            });
+            if (positionsByLine.isEmpty()) {
+                log.debug("갱신 알림 노선의 공유 캐시 없음: seq={}, lines={}", notice.sequence(), lines);
+                return;
             }
 
-            int filteredCount = filteredTrains != null ? filteredTrains.size() : 0;
-            int dailyCalls = metroApiService != null ? metroApiService.getDailyCallCount() : 0;
+            long fromSequence = deltaService.getCurrentSequence();
+            deltaService.record(trains, positionsByLine.keySet().stream()
+                    .map(Integer::parseInt)
+                    .toList(), notice.sequence());
+
+            applyDerivedState(positionsByLine, metroApiService.getEnabledLines(), fromSequence,
+                    notice.observedAtMillis(), notice.replay());
 
-            log.info("Metro update success: {} → {} trains, API calls: {}/{}",
-                allTrains.size(), filteredCount, dailyCalls, dailyLimit);
+            lastSuccessfulUpdate = LocalDateTime.now();
+            log.debug("리더 갱신 반영: seq={}, {}개 노선, {}대", notice.sequence(), positionsByLine.size(), trains.size());
 
         } catch (Exception e) {
-            log.error("Post-update processing failed: {}", e.getMessage(), e);
+            log.error("리더 갱신 반영 실패: seq={}, {}", notice.sequence(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 일부 노선만 조회한 경우 전체 위치에 나머지 노선의 기존 캐시를 합침
+     */
+    private List<TrainPosition> mergeUnpolledLines(List<TrainPosition> polledTrains, List<String> polledLines,
+                                                   List<String> enabledLines) {
+        if (polledLines.containsAll(enabledLines)) {
+            return polledTrains;
+        }
+
+        List<TrainPosition> merged = new ArrayList<>(polledTrains);
+        for (String line : enabledLines) {
+            if (polledLines.contains(line)) {
+                continue;
+            }
+            MetroCacheService.PositionCacheData cacheData = metroCacheService.getLinePositions(line);
+            if (cacheData != null && metroCacheService.isCacheValid(cacheData) && cacheData.getPositions() != null) {
+                merged.addAll(cacheData.getPositions());
+            }
         }
+        return merged;
     }
 
     /**
@@ -318,6 +573,11 @@ public class MetroDataScheduler {
 
     @Scheduled(cron = "0 0 * * * *")
     public void hourlyHealthCheck() {
+        // 건강 상태는 공유 캐시에 기록되므로 리더만 판정
+        if (!leaderElection.isLeader(LeaderElectionService.METRO_SCHEDULER)) {
+            return;
+        }
+
         try {
             // 심야시간 체크
             if (!isOperatingHours()) {
@@ -338,9 +598,8 @@ public class MetroDataScheduler {
             boolean isDataFresh = lastUpdate != null &&
                     lastUpdate.isAfter(LocalDateTime.now().minusMinutes(10));
 
-            int frontendStationCount = stationFilter != null &&
-                    stationFilter.getFrontendStationIds() != null ?
-                    stationFilter.getFrontendStationIds().size() : 0;
+            int frontendStationCount = stationFilter != null ?
+                    stationFilter.getFrontendStationCount() : 0;
 
             // 상태 판정
             String healthStatus;
@@ -415,10 +674,11 @@ public class MetroDataScheduler {
                 .isUpdating(isUpdating.get())
                 .apiEnabled(apiEnabled)
                 .filteringEnabled(stationFilter != null)
-                .frontendStationCount(stationFilter != null &&
-                        stationFilter.getFrontendStationIds() != null ?
-                        stationFilter.getFrontendStationIds().size() : 0)
+                .frontendStationCount(stationFilter != null ?
+                        stationFilter.getFrontendStationCount() : 0)
                 .frontendStationsByLine(frontendStationsByLine)
+                .lineLatencyMillis(new HashMap<>(lineLatencyMillis))
+                .leaderStatus(leaderElection.getStatus())
                 .build();
     }
 
@@ -442,5 +702,7 @@ public class MetroDataScheduler {
         private boolean filteringEnabled;
         private int frontendStationCount;
         private Map<Integer, Integer> frontendStationsByLine; // null 허용
+        private Map<String, Long> lineLatencyMillis;
+        private Map<String, Object> leaderStatus;
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+import com.example.backend.dto.metro.TrainPositionDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 열차 위치 변경분(delta) 서비스
+ * 스케줄러 갱신마다 trainId 기준으로 직전 스냅샷과 비교해 변경분을 만들고,
+ * 시퀀스 번호와 함께 고정 크기 링에 보관한다.
+ *
+ * 시퀀스는 프로세스 시작 시각(초) × EPOCH_STRIDE에서 시작한다 (실행 epoch를 값에 포함).
+ * 재시작 전 시퀀스는 새 실행의 보관 범위보다 항상 작으므로 since 조회 시 resync로 처리되어,
+ * 이전 실행의 변경분을 새 스냅샷에 적용하는 일이 없다. (JS 안전 정수 범위 이내)
+ */
+@Slf4j
+@Service
+public class MetroDeltaService {
+
+    @Value("${seoul.metro.delta.history-size:30}")
+    private int historySize;
+
+    // 직전 스냅샷 (trainId → 위치)
+    private Map<String, TrainPosition> previous = new HashMap<>();
+
+    // 최근 변경분 링 (오래된 것부터)
+    private final Deque<DeltaRecord> history = new ArrayDeque<>();
+
+    // 실행당 최대 시퀀스 증가폭 (초당 갱신 1회 이하이므로 다음 실행 시작값과 겹치지 않음)
+    private static final long EPOCH_STRIDE = 1_000_000L;
+
+    private long sequence = System.currentTimeMillis() / 1000 * EPOCH_STRIDE;
+
+    /**
+     * 새 스냅샷 기록 - coveredLines에 속한 열차만 비교 대상
+     *
+     * @return 기록 후 시퀀스
+     */
+    public synchronized long record(List<TrainPosition> current, Collection<Integer> coveredLines) {
+        return record(current, coveredLines, sequence + 1);
+    }
+
+    /**
+     * 지정 시퀀스로 스냅샷 기록 (팔로워 노드가 리더의 시퀀스를 그대로 따를 때)
+     * 놓친 알림이 있으면 시퀀스가 건너뛰지만 직전 스냅샷과 비교하므로 변경분은 누락되지 않음
+     *
+     * 첫 기록이면 리더의 시퀀스(다른 실행 epoch)를 그대로 채택
+     *
+     * @return 기록 후 시퀀스 (기록 이력이 있고 현재 시퀀스 이하면 기록하지 않음)
+     */
+    public synchronized long record(List<TrainPosition> current, Collection<Integer> coveredLines, long nextSequence) {
+        if (!history.isEmpty() && nextSequence <= sequence) {
+            return sequence;
+        }
+
+        Map<String, TrainPosition> next = new HashMap<>(previous);
+        List<TrainChange> changes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (TrainPosition train : current) {
+            if (train == null || train.getTrainId() == null) {
+                continue;
+            }
+            seen.add(train.getTrainId());
+
+            TrainPosition before = previous.get(train.getTrainId());
+            if (before == null) {
+                changes.add(new TrainChange(ChangeType.APPEARED, train.getTrainId(), train.getLineNumber(), train));
+            } else if (!Objects.equals(before.getStationId(), train.getStationId()) ||
+                    !Objects.equals(before.getDirection(), train.getDirection())) {
+                changes.add(new TrainChange(ChangeType.MOVED, train.getTrainId(), train.getLineNumber(), train));
+            }
+            next.put(train.getTrainId(), train);
+        }
+
+        for (TrainPosition before : previous.values()) {
+            if (!seen.contains(before.getTrainId()) && coveredLines.contains(before.getLineNumber())) {
+                changes.add(new TrainChange(ChangeType.DISAPPEARED, before.getTrainId(), before.getLineNumber(), null));
+                next.remove(before.getTrainId());
+            }
+        }
+
+        // 첫 기록에서 시퀀스를 건너뛰면(리더 시퀀스 채택 등) 그 이전 시퀀스 기준 조회는 재동기화 대상
+        long baseSequence = history.isEmpty() && nextSequence != sequence + 1 ? nextSequence : sequence;
+        previous = next;
+        sequence = nextSequence;
+        history.addLast(new DeltaRecord(baseSequence, sequence, LocalDateTime.now(), changes));
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+
+        log.debug("위치 변경분 기록: seq={}, 변경 {}건", sequence, changes.size());
+        return sequence;
+    }
+
+    /**
+     * since 이후 변경분 합성 (lineNumber가 null이면 전체 노선)
+     * 보관 범위를 벗어난 시퀀스면 resync=true
+     */
+    public synchronized TrainPositionDelta since(long since, Integer lineNumber) {
+        TrainPositionDelta.TrainPositionDeltaBuilder result = TrainPositionDelta.builder()
+                .fromSequence(since)
+                .toSequence(sequence)
+                .generatedAt(LocalDateTime.now());
+
+        long oldestBase = history.isEmpty() ? sequence : history.peekFirst().baseSequence();
+        if (since > sequence || since < oldestBase) {
+            return result.resync(true)
+                    .moved(List.of())
+                    .appeared(List.of())
+                    .disappeared(List.of())
+                    .build();
+        }
+
+        // trainId별 최종 상태로 합성 (삽입 순서 유지)
+        Map<String, TrainChange> merged = new LinkedHashMap<>();
+        for (DeltaRecord record : history) {
+            if (record.sequence() <= since) {
+                continue;
+            }
+            for (TrainChange change : record.changes()) {
+                if (lineNumber != null && !lineNumber.equals(change.lineNumber())) {
+                    continue;
+                }
+                merged.merge(change.trainId(), change, MetroDeltaService::compose);
+            }
+        }
+
+        List<TrainPosition> moved = new ArrayList<>();
+        List<TrainPosition> appeared = new ArrayList<>();
+        List<String> disappeared = new ArrayList<>();
+        for (TrainChange change : merged.values()) {
+            switch (change.type()) {
+                case MOVED -> moved.add(change.position());
+                case APPEARED -> appeared.add(change.position());
+                case DISAPPEARED -> disappeared.add(change.trainId());
+                case NONE -> { }
+            }
+        }
+
+        return result.resync(false)
+                .moved(moved)
+                .appeared(appeared)
+                .disappeared(disappeared)
+                .build();
+    }
+
+    /**
+     * 기록된 변경분 존재 여부 (false면 아직 첫 스냅샷 전)
+     */
+    public synchronized boolean hasHistory() {
+        return !history.isEmpty();
+    }
+
+    /**
+     * 현재 시퀀스
+     */
+    public synchronized long getCurrentSequence() {
+        return sequence;
+    }
+
+    /**
+     * 같은 열차의 연속 변경 합성
+     * - 나타났다가 사라짐 → 변경 없음
+     * - 사라졌다가 다시 나타남 → 이동
+     * - 나타난 뒤 이동 → 나타남(최신 위치)
+     */
+    private static TrainChange compose(TrainChange earlier, TrainChange later) {
+        if (earlier.type() == ChangeType.APPEARED || earlier.type() == ChangeType.NONE) {
+            if (later.type() == ChangeType.DISAPPEARED) {
+                return new TrainChange(ChangeType.NONE, later.trainId(), later.lineNumber(), null);
+            }
+            return new TrainChange(ChangeType.APPEARED, later.trainId(), later.lineNumber(), later.position());
+        }
+        if (earlier.type() == ChangeType.DISAPPEARED && later.type() == ChangeType.APPEARED) {
+            return new TrainChange(ChangeType.MOVED, later.trainId(), later.lineNumber(), later.position());
+        }
+        return later;
+    }
+
+    private enum ChangeType { APPEARED, MOVED, DISAPPEARED, NONE }
+
+    private record TrainChange(ChangeType type, String trainId, Integer lineNumber, TrainPosition position) {
+    }
+
+    private record DeltaRecord(long baseSequence, long sequence, LocalDateTime createdAt, List<TrainChange> changes) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지하철 위치 조회 수요 추적
+ * 최근 REST 요청(클라이언트/노선별 마지막 조회 시각)과 SSE 구독 현황으로
+ * 현재 시청자 수와 시청 중인 노선을 추정한다.
+ *
+ * 다중 노드(리더 선출 활성화) 시 노드별 수요를 Redis 해시(metro:demand)에 주기적으로 공유하고,
+ * 조회 시 다른 노드의 최근 수요를 합산한다 (폴링은 리더만 하므로 전체 노드의 시청 수요 기준).
+ * 같은 클라이언트가 여러 노드에 접속하면 중복 집계될 수 있음 (근사치)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetroDemandTracker {
+
+    // 추적 클라이언트 상한 (메모리 보호)
+    private static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    private static final String DEMAND_KEY = "metro:demand";
+    private static final String ALL_LINES = "*";
+
+    private final MetroStreamService streamService;
+    private final LeaderElectionService leaderElection;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${seoul.metro.scheduler.viewer-window-seconds:120}")
+    private int viewerWindowSeconds;
+
+    @Value("${seoul.metro.scheduler.demand-share-interval:10000}")
+    private long demandShareIntervalMillis;
+
+    private final Map<String, Long> clientLastSeen = new ConcurrentHashMap<>();
+    private final Map<String, Long> lineLastViewed = new ConcurrentHashMap<>();
+    private volatile long allLinesLastViewed = 0;
+
+    /**
+     * 위치 조회 요청 기록
+     */
+    public void recordView(Collection<String> lineNumbers, String clientKey) {
+        long now = System.currentTimeMillis();
+        lineNumbers.forEach(line -> lineLastViewed.put(line, now));
+        recordClient(clientKey, now);
+    }
+
+    /**
+     * 전체 노선 조회 요청 기록
+     */
+    public void recordAllLinesView(String clientKey) {
+        long now = System.currentTimeMillis();
+        allLinesLastViewed = now;
+        recordClient(clientKey, now);
+    }
+
+    private void recordClient(String clientKey, long now) {
+        if (clientKey != null &&
+                (clientLastSeen.size() < MAX_TRACKED_CLIENTS || clientLastSeen.containsKey(clientKey))) {
+            clientLastSeen.put(clientKey, now);
+        }
+    }
+
+    /**
+     * 최근 조회 클라이언트 수 + SSE 구독자 수 (다른 노드 포함, 근사치)
+     */
+    public int getActiveViewerCount() {
+        return localViewerCount() + remoteDemand().stream().mapToInt(NodeDemand::viewers).sum();
+    }
+
+    /**
+     * 최근 조회되었거나 SSE 구독 중인 노선 (다른 노드 포함, 전체 조회가 있었으면 활성 노선 전체)
+     */
+    public Set<String> getWatchedLines(Collection<String> enabledLines) {
+        Set<String> watched = localWatchedLines();
+        remoteDemand().forEach(demand -> watched.addAll(demand.lines()));
+        return watched.contains(ALL_LINES) ? new HashSet<>(enabledLines) : watched;
+    }
+
+    /**
+     * 이 노드의 수요 공유 (리더 선출 활성화 시)
+     * 형식: "{기록 시각}|{시청자 수}|{노선,...}" (전체 노선 조회는 "*")
+     */
+    @Scheduled(fixedDelayString = "${seoul.metro.scheduler.demand-share-interval:10000}")
+    public void shareDemand() {
+        if (!leaderElection.isEnabled()) {
+            return;
+        }
+        try {
+            String value = System.currentTimeMillis() + "|" + localViewerCount() + "|" +
+                    String.join(",", localWatchedLines());
+            redisTemplate.opsForHash().put(DEMAND_KEY, leaderElection.getNodeId(), value);
+            redisTemplate.expire(DEMAND_KEY, demandStaleMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("시청 수요 공유 실패: {}", e.getMessage());
+        }
+    }
+
+    private int localViewerCount() {
+        long cutoff = windowStart();
+        clientLastSeen.values().removeIf(seenAt -> seenAt < cutoff);
+        return clientLastSeen.size() + streamService.getSubscriberCount();
+    }
+
+    private Set<String> localWatchedLines() {
+        long cutoff = windowStart();
+        if (allLinesLastViewed >= cutoff) {
+            return new HashSet<>(Set.of(ALL_LINES));
+        }
+
+        Set<String> watched = new HashSet<>(streamService.getWatchedLines());
+        lineLastViewed.forEach((line, viewedAt) -> {
+            if (viewedAt >= cutoff) {
+                watched.add(line);
+            }
+        });
+        return watched;
+    }
+
+    /**
+     * 다른 노드가 공유한 최근 수요 (오래된 항목은 제거, 조회 실패 시 없음으로 간주)
+     */
+    private List<NodeDemand> remoteDemand() {
+        if (!leaderElection.isEnabled()) {
+            return List.of();
+        }
+
+        List<NodeDemand> demands = new ArrayList<>();
+        try {
+            long staleBefore = System.currentTimeMillis() - demandStaleMillis();
+            List<Object> staleNodes = new ArrayList<>();
+            redisTemplate.opsForHash().entries(DEMAND_KEY).forEach((node, value) -> {
+                if (leaderElection.getNodeId().equals(node)) {
+                    return;
+                }
+                String[] parts = String.valueOf(value).split("\\|", -1);
+                if (parts.length < 3 || Long.parseLong(parts[0]) < staleBefore) {
+                    staleNodes.add(node);
+                    return;
+                }
+                Set<String> lines = parts[2].isEmpty() ? Set.of() : new HashSet<>(Arrays.asList(parts[2].split(",")));
+                demands.add(new NodeDemand(Integer.parseInt(parts[1]), lines));
+            });
+            if (!staleNodes.isEmpty()) {
+                redisTemplate.opsForHash().delete(DEMAND_KEY, staleNodes.toArray());
+            }
+        } catch (Exception e) {
+            log.debug("다른 노드 시청 수요 조회 실패: {}", e.getMessage());
+        }
+        return demands;
+    }
+
+    // 공유 주기 3회 동안 갱신이 없으면 종료된 노드로 간주
+    private long demandStaleMillis() {
+        return demandShareIntervalMillis * 3;
+    }
+
+    private long windowStart() {
+        return System.currentTimeMillis() - viewerWindowSeconds * 1000L;
+    }
+
+    private record NodeDemand(int viewers, Set<String> lines) {
+    }
+}
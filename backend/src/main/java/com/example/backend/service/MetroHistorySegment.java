@@ -0,0 +1,347 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 열차 위치 이력 세그먼트 파일 (노선 1개, 추가 전용, 메모리 매핑)
+ *
+ * 포맷 (v1):
+ * - 헤더(40바이트): 매직 "MTHS", 버전, 노선, 첫/마지막 스냅샷 시각(epoch millis), 커밋 위치, 스냅샷 수
+ * - 블록: 유형(1바이트) + 본문 길이(int) + 본문
+ *   - 사전 블록: 코드(varint) + UTF-8 문자열 - 열차 번호/역 ID/역명/방향/출처를 세그먼트 내에서 한 번만 기록
+ *   - 스냅샷 블록: 직전 스냅샷과의 시각 차이(varlong), 열차 수(varint),
+ *     열(column) 단위 사전 코드(varint, 0=null) 6개 + 실시간 여부 비트맵
+ *
+ * 사전/스냅샷 블록을 모두 쓴 뒤 헤더의 커밋 위치를 마지막에 갱신하므로,
+ * 읽는 쪽은 커밋 위치까지만 보면 항상 완전한 블록만 읽는다 (기록 중단 시에도 동일).
+ * 쓰기 인스턴스는 스레드 안전하지 않음 (MetroHistoryStore에서 노선별로 직렬화).
+ */
+public class MetroHistorySegment implements Closeable {
+
+    private static final int MAGIC = 0x4D544853; // "MTHS"
+    private static final int VERSION = 1;
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_LINE = 8;
+    private static final int OFF_FIRST_MILLIS = 16;
+    private static final int OFF_LAST_MILLIS = 24;
+    private static final int OFF_COMMITTED = 32;
+    private static final int OFF_SNAPSHOT_COUNT = 36;
+    private static final int HEADER_SIZE = 40;
+
+    private static final byte BLOCK_DICTIONARY = 1;
+    private static final byte BLOCK_SNAPSHOT = 2;
+
+    // 열 순서: 열차 번호, 역 ID, 역명, 프론트엔드 역, 방향, 출처
+    private static final List<Function<TrainPosition, String>> COLUMNS = List.of(
+            TrainPosition::getTrainId,
+            TrainPosition::getStationId,
+            TrainPosition::getStationName,
+            TrainPosition::getFrontendStationId,
+            TrainPosition::getDirection,
+            TrainPosition::getDataSource
+    );
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long lastMillis;
+    private int snapshotCount;
+
+    private MetroHistorySegment(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 쓰기용으로 열기 - 파일이 있으면 사전을 복원하고 커밋 위치부터 이어서 기록
+     */
+    public static MetroHistorySegment openForAppend(Path path, int lineNumber, long capacity) throws IOException {
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(capacity, channel.size()));
+            MetroHistorySegment segment = new MetroHistorySegment(channel, buffer);
+
+            if (exists) {
+                segment.restore(path);
+            } else {
+                buffer.putInt(OFF_MAGIC, MAGIC);
+                buffer.putInt(OFF_VERSION, VERSION);
+                buffer.putInt(OFF_LINE, lineNumber);
+                buffer.putLong(OFF_FIRST_MILLIS, 0);
+                buffer.putLong(OFF_LAST_MILLIS, 0);
+                buffer.putInt(OFF_SNAPSHOT_COUNT, 0);
+                buffer.putInt(OFF_COMMITTED, HEADER_SIZE);
+            }
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void restore(Path path) throws IOException {
+        if (buffer.getInt(OFF_MAGIC) != MAGIC || buffer.getInt(OFF_VERSION) != VERSION) {
+            throw new IOException("이력 세그먼트 형식 불일치: " + path);
+        }
+        lastMillis = buffer.getLong(OFF_LAST_MILLIS);
+        snapshotCount = buffer.getInt(OFF_SNAPSHOT_COUNT);
+
+        ByteBuffer view = buffer.duplicate();
+        int committed = view.getInt(OFF_COMMITTED);
+        view.position(HEADER_SIZE);
+        while (view.position() < committed) {
+            byte type = view.get();
+            int length = view.getInt();
+            int next = view.position() + length;
+            if (type == BLOCK_DICTIONARY) {
+                int code = readVarInt(view);
+                dictionary.put(readUtf8(view, next - view.position()), code);
+            }
+            view.position(next);
+        }
+    }
+
+    /**
+     * 스냅샷 1건 추가 (남은 용량이 부족하면 기록하지 않고 false - 새 세그먼트로 넘김)
+     */
+    public boolean append(long observedAtMillis, List<TrainPosition> positions) {
+        // 시각은 세그먼트 안에서 단조 증가 (범위 조회 시 조기 종료 기준)
+        long millis = Math.max(observedAtMillis, lastMillis);
+
+        // 1. 새 사전 항목 수집 + 최악의 경우 크기 추정 (쓰기 전에 판단해야 부분 기록이 없음)
+        Set<String> pending = new LinkedHashSet<>();
+        long estimate = 1 + 4 + 10 + 5 + (long) positions.size() * COLUMNS.size() * 5 + (positions.size() + 7) / 8;
+        for (TrainPosition train : positions) {
+            for (Function<TrainPosition, String> column : COLUMNS) {
+                String value = column.apply(train);
+                if (value != null && !dictionary.containsKey(value) && pending.add(value)) {
+                    estimate += 1 + 4 + 5 + value.length() * 3L;
+                }
+            }
+        }
+
+        int committed = buffer.getInt(OFF_COMMITTED);
+        if (committed + estimate > buffer.capacity()) {
+            return false;
+        }
+
+        // 2. 사전 블록
+        buffer.position(committed);
+        for (String value : pending) {
+            int code = dictionary.size() + 1;
+            dictionary.put(value, code);
+            int lengthAt = beginBlock(BLOCK_DICTIONARY);
+            writeVarInt(buffer, code);
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+            endBlock(lengthAt);
+        }
+
+        // 3. 스냅샷 블록 (열 단위)
+        int lengthAt = beginBlock(BLOCK_SNAPSHOT);
+        writeVarLong(buffer, millis - (snapshotCount == 0 ? millis : lastMillis));
+        writeVarInt(buffer, positions.size());
+        for (Function<TrainPosition, String> column : COLUMNS) {
+            for (TrainPosition train : positions) {
+                String value = column.apply(train);
+                writeVarInt(buffer, value != null ? dictionary.get(value) : 0);
+            }
+        }
+        byte[] realtimeBits = new byte[(positions.size() + 7) / 8];
+        for (int i = 0; i < positions.size(); i++) {
+            if (positions.get(i).isRealtime()) {
+                realtimeBits[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        buffer.put(realtimeBits);
+        endBlock(lengthAt);
+
+        // 4. 헤더 갱신 - 커밋 위치를 마지막에 기록
+        if (snapshotCount == 0) {
+            buffer.putLong(OFF_FIRST_MILLIS, millis);
+        }
+        lastMillis = millis;
+        snapshotCount++;
+        buffer.putLong(OFF_LAST_MILLIS, millis);
+        buffer.putInt(OFF_SNAPSHOT_COUNT, snapshotCount);
+        buffer.putInt(OFF_COMMITTED, buffer.position());
+        return true;
+    }
+
+    public int getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    /**
+     * 디스크 반영 후 닫기 (매핑 해제는 GC 시점)
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int beginBlock(byte type) {
+        buffer.put(type);
+        int lengthAt = buffer.position();
+        buffer.putInt(0);
+        return lengthAt;
+    }
+
+    private void endBlock(int lengthAt) {
+        buffer.putInt(lengthAt, buffer.position() - lengthAt - 4);
+    }
+
+    // === 읽기 ===
+
+    /**
+     * 스냅샷 방문자 - false 반환 시 읽기 중단
+     */
+    @FunctionalInterface
+    public interface SnapshotVisitor {
+        boolean visit(int lineNumber, long observedAtMillis, List<TrainPosition> positions);
+    }
+
+    /**
+     * 기간 [fromMillis, toMillis] 스냅샷 순회 (커밋된 블록만, 기간 밖 스냅샷은 본문을 건너뜀)
+     *
+     * @return 방문자가 중단을 요청했으면 false
+     */
+    public static boolean scan(Path path, long fromMillis, long toMillis, SnapshotVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return true;
+            }
+            ByteBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (view.getInt(OFF_MAGIC) != MAGIC || view.getInt(OFF_VERSION) != VERSION) {
+                throw new IOException("이력 세그먼트 형식 불일치: " + path);
+            }
+
+            int lineNumber = view.getInt(OFF_LINE);
+            int committed = view.getInt(OFF_COMMITTED);
+            int snapshots = view.getInt(OFF_SNAPSHOT_COUNT);
+            if (snapshots == 0 || view.getLong(OFF_LAST_MILLIS) < fromMillis
+                    || view.getLong(OFF_FIRST_MILLIS) > toMillis) {
+                return true;
+            }
+
+            List<String> entries = new ArrayList<>();
+            long millis = view.getLong(OFF_FIRST_MILLIS);
+            view.position(HEADER_SIZE);
+            while (view.position() < committed) {
+                byte type = view.get();
+                int length = view.getInt();
+                int next = view.position() + length;
+
+                if (type == BLOCK_DICTIONARY) {
+                    readVarInt(view); // 코드는 등장 순서와 동일
+                    entries.add(readUtf8(view, next - view.position()));
+                } else if (type == BLOCK_SNAPSHOT) {
+                    millis += readVarLong(view);
+                    if (millis > toMillis) {
+                        return true;
+                    }
+                    if (millis >= fromMillis
+                            && !visitor.visit(lineNumber, millis, decodeSnapshot(view, lineNumber, millis, entries))) {
+                        return false;
+                    }
+                }
+                view.position(next);
+            }
+            return true;
+        }
+    }
+
+    private static List<TrainPosition> decodeSnapshot(ByteBuffer view, int lineNumber, long millis,
+                                                      List<String> entries) {
+        int count = readVarInt(view);
+        String[][] columns = new String[COLUMNS.size()][count];
+        for (String[] column : columns) {
+            for (int i = 0; i < count; i++) {
+                int code = readVarInt(view);
+                column[i] = code > 0 ? entries.get(code - 1) : null;
+            }
+        }
+        byte[] realtimeBits = new byte[(count + 7) / 8];
+        view.get(realtimeBits);
+
+        LocalDateTime observedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+        List<TrainPosition> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(TrainPosition.builder()
+                    .trainId(columns[0][i])
+                    .lineNumber(lineNumber)
+                    .stationId(columns[1][i])
+                    .stationName(columns[2][i])
+                    .frontendStationId(columns[3][i])
+                    .direction(columns[4][i])
+                    .dataSource(columns[5][i])
+                    .realtime((realtimeBits[i >> 3] & (1 << (i & 7))) != 0)
+                    .lastUpdated(observedAt)
+                    .build());
+        }
+        return positions;
+    }
+
+    // === varint ===
+
+    private static void writeVarInt(ByteBuffer out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static String readUtf8(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
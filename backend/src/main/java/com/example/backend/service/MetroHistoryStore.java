@@ -0,0 +1,237 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.MetroHistorySnapshot;
+import com.example.backend.dto.metro.TrainPosition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 열차 위치 이력 저장소
+ *
+ * 스케줄러 갱신마다 노선별 스냅샷을 로컬 디스크의 세그먼트 파일(MetroHistorySegment)에 추가한다.
+ * 파일 구성: {directory}/line-{노선}/{yyyyMMdd}-{part}.seg
+ * - 하루 단위로 새 세그먼트, 용량 초과 시 part 증가
+ * - 기간 조회는 파일명(날짜)과 헤더의 시각 범위로 대상 세그먼트만 읽음
+ * - 보관 기간이 지난 세그먼트는 매일 삭제
+ * Redis 캐시(TTL)와 달리 지나간 위치를 남겨 배차 간격 분석/리플레이에 사용한다.
+ */
+@Slf4j
+@Service
+public class MetroHistoryStore {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Value("${seoul.metro.history.enabled:false}")
+    private boolean enabled;
+
+    @Value("${seoul.metro.history.directory:./data/metro-history}")
+    private String directory;
+
+    @Value("${seoul.metro.history.segment-size-mb:16}")
+    private int segmentSizeMb;
+
+    @Value("${seoul.metro.history.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${seoul.metro.history.max-query-snapshots:720}")
+    private int maxQuerySnapshots;
+
+    // 노선별 현재 쓰기 세그먼트 (append는 스케줄러에서만 호출, 메서드 단위로 직렬화)
+    private final Map<Integer, ActiveSegment> activeSegments = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 노선별 스냅샷 기록 (실패 시 해당 노선만 건너뜀 - 실시간 갱신에는 영향 없음)
+     */
+    public synchronized void append(Map<String, List<TrainPosition>> positionsByLine, long observedAtMillis) {
+        if (!enabled) {
+            return;
+        }
+
+        String day = LocalDate.ofInstant(Instant.ofEpochMilli(observedAtMillis), ZONE).format(DAY_FORMAT);
+        positionsByLine.forEach((lineKey, positions) -> {
+            int line = Integer.parseInt(lineKey);
+            try {
+                ActiveSegment active = activeSegment(line, day);
+                if (!active.segment().append(observedAtMillis, positions)) {
+                    // 용량 초과 - 다음 part로 넘겨 재시도
+                    active = rollOver(line, day, active.part() + 1);
+                    if (!active.segment().append(observedAtMillis, positions)) {
+                        log.warn("{}호선 이력 스냅샷이 세그먼트 크기를 초과해 기록하지 못함 ({}대)", line, positions.size());
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("{}호선 이력 기록 실패: {}", line, e.getMessage());
+                closeQuietly(activeSegments.remove(line));
+            }
+        });
+    }
+
+    /**
+     * 노선 기간 조회 (오래된 순, 최대 limit건 - 설정 상한 적용)
+     */
+    public List<MetroHistorySnapshot> query(int lineNumber, LocalDateTime from, LocalDateTime to, int limit) throws IOException {
+        List<MetroHistorySnapshot> result = new ArrayList<>();
+        forEachSnapshot(lineNumber, from, to, (line, observedAtMillis, positions) -> {
+            result.add(MetroHistorySnapshot.builder()
+                    .lineNumber(line)
+                    .observedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(observedAtMillis), ZONE))
+                    .totalTrains(positions.size())
+                    .positions(positions)
+                    .build());
+            return result.size() < Math.min(limit, maxQuerySnapshots);
+        });
+        return result;
+    }
+
+    /**
+     * 노선 기간 스냅샷 순회 (오래된 순, 방문자가 false를 반환하면 중단)
+     */
+    public void forEachSnapshot(int lineNumber, LocalDateTime from, LocalDateTime to,
+                                MetroHistorySegment.SnapshotVisitor visitor) throws IOException {
+        long fromMillis = from.atZone(ZONE).toInstant().toEpochMilli();
+        long toMillis = to.atZone(ZONE).toInstant().toEpochMilli();
+        String fromDay = from.toLocalDate().format(DAY_FORMAT);
+        String toDay = to.toLocalDate().format(DAY_FORMAT);
+
+        for (Path path : listSegments(lineNumber)) {
+            String day = dayOf(path);
+            if (day.compareTo(fromDay) < 0 || day.compareTo(toDay) > 0) {
+                continue;
+            }
+            if (!MetroHistorySegment.scan(path, fromMillis, toMillis, visitor)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 세그먼트 삭제
+     */
+    @Scheduled(cron = "0 30 0 * * *")
+    public void purgeExpiredSegments() {
+        if (!enabled || !Files.isDirectory(root())) {
+            return;
+        }
+
+        String cutoff = LocalDate.now(ZONE).minusDays(retentionDays).format(DAY_FORMAT);
+        int deleted = 0;
+        try (Stream<Path> lineDirs = Files.list(root())) {
+            for (Path lineDir : lineDirs.filter(Files::isDirectory).toList()) {
+                try (Stream<Path> segments = Files.list(lineDir)) {
+                    for (Path path : segments.filter(this::isSegment).toList()) {
+                        if (dayOf(path).compareTo(cutoff) < 0 && Files.deleteIfExists(path)) {
+                            deleted++;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("이력 세그먼트 정리 실패: {}", e.getMessage());
+        }
+
+        if (deleted > 0) {
+            log.info("보관 기간({}일) 지난 이력 세그먼트 {}개 삭제", retentionDays, deleted);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        activeSegments.values().forEach(this::closeQuietly);
+        activeSegments.clear();
+    }
+
+    private ActiveSegment activeSegment(int line, String day) throws IOException {
+        ActiveSegment active = activeSegments.get(line);
+        if (active != null && active.day().equals(day)) {
+            return active;
+        }
+
+        // 날짜가 바뀌었거나 재시작 - 해당 날짜의 마지막 part부터 이어서 기록
+        int lastPart = listSegments(line).stream()
+                .filter(path -> dayOf(path).equals(day))
+                .mapToInt(this::partOf)
+                .max()
+                .orElse(0);
+        return rollOver(line, day, lastPart);
+    }
+
+    private ActiveSegment rollOver(int line, String day, int part) throws IOException {
+        closeQuietly(activeSegments.remove(line));
+
+        Path lineDir = root().resolve("line-" + line);
+        Files.createDirectories(lineDir);
+        Path path = lineDir.resolve(String.format("%s-%03d%s", day, part, SEGMENT_SUFFIX));
+
+        ActiveSegment active = new ActiveSegment(day, part,
+                MetroHistorySegment.openForAppend(path, line, segmentSizeMb * 1024L * 1024L));
+        activeSegments.put(line, active);
+        log.debug("{}호선 이력 세그먼트 열기: {} (기존 스냅샷 {}건)", line, path, active.segment().getSnapshotCount());
+        return active;
+    }
+
+    private List<Path> listSegments(int line) throws IOException {
+        Path lineDir = root().resolve("line-" + line);
+        if (!Files.isDirectory(lineDir)) {
+            return List.of();
+        }
+        try (Stream<Path> segments = Files.list(lineDir)) {
+            // 파일명(yyyyMMdd-part) 순 = 시간 순
+            return segments.filter(this::isSegment).sorted().toList();
+        }
+    }
+
+    private Path root() {
+        return Paths.get(directory);
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(SEGMENT_SUFFIX) && name.length() == 8 + 1 + 3 + SEGMENT_SUFFIX.length();
+    }
+
+    private String dayOf(Path path) {
+        return path.getFileName().toString().substring(0, 8);
+    }
+
+    private int partOf(Path path) {
+        return Integer.parseInt(path.getFileName().toString().substring(9, 12));
+    }
+
+    private void closeQuietly(ActiveSegment active) {
+        if (active == null) {
+            return;
+        }
+        try {
+            active.segment().close();
+        } catch (IOException e) {
+            log.debug("이력 세그먼트 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    private record ActiveSegment(String day, int part, MetroHistorySegment segment) {
+    }
+}
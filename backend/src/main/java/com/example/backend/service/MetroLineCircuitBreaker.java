@@ -0,0 +1,141 @@
+package com.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노선별 회로 차단기
+ *
+ * - CLOSED: 정상 호출, 연속 실패가 임계치에 도달하면 OPEN
+ * - OPEN: 호출 차단, open-duration 경과 후 HALF_OPEN
+ * - HALF_OPEN: 탐색 호출 1건만 허용, 성공 시 CLOSED / 실패 시 다시 OPEN
+ *
+ * 성공 호출의 지연 시간을 노선별로 보관해 헤지 요청 지연 기준(백분위)으로 사용
+ */
+@Slf4j
+@Component
+public class MetroLineCircuitBreaker {
+
+    private static final int LATENCY_SAMPLE_SIZE = 50;
+    private static final int MIN_LATENCY_SAMPLES = 10;
+
+    @Value("${seoul.metro.api.circuit.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${seoul.metro.api.circuit.open-seconds:120}")
+    private int openSeconds;
+
+    private final Map<String, LineCircuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * 호출 허용 여부 (HALF_OPEN 전환 시 탐색 호출 1건 허용)
+     */
+    public boolean tryAcquire(String lineNumber) {
+        return circuit(lineNumber).tryAcquire(System.currentTimeMillis(), openSeconds * 1000L);
+    }
+
+    public void recordSuccess(String lineNumber, long latencyMillis) {
+        if (circuit(lineNumber).recordSuccess(latencyMillis)) {
+            log.info("{}호선 회로 복구 (CLOSED)", lineNumber);
+        }
+    }
+
+    public void recordFailure(String lineNumber) {
+        if (circuit(lineNumber).recordFailure(System.currentTimeMillis(), failureThreshold)) {
+            log.warn("{}호선 회로 차단 (OPEN) - {}초간 호출 중단", lineNumber, openSeconds);
+        }
+    }
+
+    /**
+     * 성공 호출 지연 시간 백분위 (표본 부족 시 -1)
+     */
+    public long latencyPercentile(String lineNumber, double percentile) {
+        return circuit(lineNumber).latencyPercentile(percentile);
+    }
+
+    /**
+     * 노선별 회로 상태
+     */
+    public Map<String, String> getStates() {
+        Map<String, String> states = new HashMap<>();
+        circuits.forEach((line, circuit) -> states.put(line, circuit.state().name()));
+        return states;
+    }
+
+    private LineCircuit circuit(String lineNumber) {
+        return circuits.computeIfAbsent(lineNumber, key -> new LineCircuit());
+    }
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final class LineCircuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures = 0;
+        private long openedAtMillis = 0;
+        private boolean probeInFlight = false;
+
+        private final long[] latencies = new long[LATENCY_SAMPLE_SIZE];
+        private int latencyCount = 0;
+        private int latencyCursor = 0;
+
+        synchronized State state() {
+            return state;
+        }
+
+        synchronized boolean tryAcquire(long now, long openMillis) {
+            if (state == State.OPEN && now - openedAtMillis >= openMillis) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+
+        // CLOSED로 복구되었으면 true
+        synchronized boolean recordSuccess(long latencyMillis) {
+            latencies[latencyCursor] = latencyMillis;
+            latencyCursor = (latencyCursor + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+            boolean recovered = state != State.CLOSED;
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            return recovered;
+        }
+
+        // 새로 OPEN되었으면 true
+        synchronized boolean recordFailure(long now, int threshold) {
+            consecutiveFailures++;
+            probeInFlight = false;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= threshold)) {
+                state = State.OPEN;
+                openedAtMillis = now;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized long latencyPercentile(double percentile) {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
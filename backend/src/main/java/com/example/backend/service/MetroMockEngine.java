@@ -0,0 +1,228 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 지하철 Mock 열차 시뮬레이션 엔진
+ *
+ * 노선별 주요 역을 왕복하는 열차를 시드 고정 + 시계 기반으로 움직인다.
+ * 같은 시드와 시각이면 항상 같은 결과가 나오고, tick 단위로 스냅샷을 한 번만 만들어
+ * MetroPositionService(캐시 미스 폴백)와 MetroApiService(API 불가 시 대체 데이터)가 공유한다.
+ * Clock 빈이 있으면 해당 시계를 사용 (부하 테스트/재현용).
+ */
+@Slf4j
+@Component
+public class MetroMockEngine {
+
+    public static final String DATA_SOURCE = "MOCK_REALISTIC";
+
+    private static final Map<Integer, Integer> REALISTIC_TRAIN_COUNTS = Map.of(
+            1, 8,   // 1호선: 일반적인 운행 밀도
+            2, 12,  // 2호선: 순환선이라 가장 많음
+            3, 7,   // 3호선: 중간 밀도
+            4, 6    // 4호선: 분기선 포함, 상대적으로 적음
+    );
+
+    // 출근시간 최대 증가분 (열차 슬롯은 최대치로 미리 배치하고 시간대별로 앞에서부터 운행)
+    private static final int MAX_EXTRA_TRAINS = 2;
+
+    private static final Map<Integer, List<StationInfo>> LINE_STATIONS = Map.of(
+            1, List.of(
+                    new StationInfo("도봉산", "1001000117"),
+                    new StationInfo("창동", "1001000116"),
+                    new StationInfo("종로5가", "1001000129"),
+                    new StationInfo("종각", "1001000131"),
+                    new StationInfo("시청", "1001000132"),
+                    new StationInfo("서울역", "1001000133"),
+                    new StationInfo("용산", "1001000135"),
+                    new StationInfo("영등포", "1001000139"),
+                    new StationInfo("구로", "1001000141"),
+                    new StationInfo("온수", "1001000145")
+            ),
+            2, List.of(
+                    new StationInfo("을지로입구", "1002000202"),
+                    new StationInfo("동대문역사문화공원", "1002000205"),
+                    new StationInfo("건대입구", "1002000212"),
+                    new StationInfo("잠실", "1002000216"),
+                    new StationInfo("삼성", "1002000219"),
+                    new StationInfo("강남", "1002000222"),
+                    new StationInfo("사당", "1002000226"),
+                    new StationInfo("신림", "1002000230"),
+                    new StationInfo("구로디지털단지", "1002000232"),
+                    new StationInfo("홍대입구", "1002000239"),
+                    new StationInfo("신촌", "1002000240")
+            ),
+            3, List.of(
+                    new StationInfo("구파발", "1003000301"),
+                    new StationInfo("불광", "1003000303"),
+                    new StationInfo("독립문", "1003000307"),
+                    new StationInfo("종로3가", "1003000310"),
+                    new StationInfo("충무로", "1003000328"),
+                    new StationInfo("압구정", "1003000323"),
+                    new StationInfo("교대", "1003000319"),
+                    new StationInfo("양재", "1003000344"),
+                    new StationInfo("수서", "1003000351"),
+                    new StationInfo("오금", "1003000352")
+            ),
+            4, List.of(
+                    new StationInfo("당고개", "1004000401"),
+                    new StationInfo("상계", "1004000402"),
+                    new StationInfo("창동", "1004000412"),
+                    new StationInfo("한성대입구", "1004000419"),
+                    new StationInfo("동대문", "1004000421"),
+                    new StationInfo("충무로", "1004000423"),
+                    new StationInfo("명동", "1004000424"),
+                    new StationInfo("서울역", "1004000426"),
+                    new StationInfo("사당", "1004000433")
+            )
+    );
+
+    private final Clock clock;
+
+    @Value("${seoul.metro.mock.seed:20250101}")
+    private long seed;
+
+    @Value("${seoul.metro.mock.tick-seconds:30}")
+    private int tickSeconds;
+
+    // 노선별 열차 슬롯의 왕복 경로상 초기 위상 (시드로 고정)
+    private final Map<Integer, int[]> phaseOffsets = new HashMap<>();
+
+    private final AtomicReference<MockSnapshot> snapshot = new AtomicReference<>();
+
+    public MetroMockEngine(ObjectProvider<Clock> clockProvider) {
+        this.clock = clockProvider.getIfAvailable(Clock::systemDefaultZone);
+    }
+
+    @PostConstruct
+    public void init() {
+        LINE_STATIONS.forEach((line, stations) -> {
+            int slots = getBaseTrainCount(line) + MAX_EXTRA_TRAINS;
+            int pathLength = Math.max(1, 2 * (stations.size() - 1));
+            SplittableRandom random = new SplittableRandom(seed * 31 + line);
+
+            int[] offsets = new int[slots];
+            for (int i = 0; i < slots; i++) {
+                // 경로를 균등 분할한 위치 + 작은 흔들림
+                offsets[i] = (i * pathLength / slots + random.nextInt(2)) % pathLength;
+            }
+            phaseOffsets.put(line, offsets);
+        });
+
+        log.info("Mock 열차 엔진 초기화: seed={}, tick={}초, 노선 {}", seed, tickSeconds, LINE_STATIONS.keySet());
+    }
+
+    /**
+     * 현재 tick의 노선 열차 위치 (불변 목록, 같은 tick 동안 같은 인스턴스)
+     */
+    public List<TrainPosition> getLinePositions(Integer lineNumber) {
+        if (lineNumber == null) {
+            return List.of();
+        }
+        return currentSnapshot().byLine().getOrDefault(lineNumber, List.of());
+    }
+
+    public boolean hasLine(Integer lineNumber) {
+        return lineNumber != null && LINE_STATIONS.containsKey(lineNumber);
+    }
+
+    private MockSnapshot currentSnapshot() {
+        long tick = clock.instant().getEpochSecond() / Math.max(1, tickSeconds);
+        MockSnapshot current = snapshot.get();
+        if (current != null && current.tick() == tick) {
+            return current;
+        }
+
+        // 경합 시 같은 tick을 중복 계산할 수 있으나 결과가 결정적이므로 무해
+        MockSnapshot next = buildSnapshot(tick);
+        snapshot.set(next);
+        return next;
+    }
+
+    private MockSnapshot buildSnapshot(long tick) {
+        LocalDateTime tickTime = LocalDateTime.ofInstant(
+                Instant.ofEpochSecond(tick * Math.max(1, tickSeconds)), clock.getZone());
+        int hour = tickTime.getHour();
+
+        Map<Integer, List<TrainPosition>> byLine = new HashMap<>();
+        LINE_STATIONS.forEach((line, stations) ->
+                byLine.put(line, simulateLine(line, stations, tick, tickTime, hour)));
+        return new MockSnapshot(tick, Map.copyOf(byLine));
+    }
+
+    /**
+     * 왕복 경로 위 위치 = (초기 위상 + tick) mod 경로 길이
+     * 앞쪽 절반은 상행(역 순서대로), 뒤쪽 절반은 하행
+     */
+    private List<TrainPosition> simulateLine(int line, List<StationInfo> stations, long tick,
+                                             LocalDateTime tickTime, int hour) {
+        int[] offsets = phaseOffsets.get(line);
+        int trainCount = Math.min(offsets.length, adjustTrainCountByTime(getBaseTrainCount(line), hour));
+        int pathLength = Math.max(1, 2 * (stations.size() - 1));
+
+        List<TrainPosition> positions = new ArrayList<>(trainCount);
+        for (int i = 0; i < trainCount; i++) {
+            int position = (int) ((offsets[i] + tick) % pathLength);
+            boolean up = position < stations.size() - 1 || stations.size() == 1;
+            StationInfo station = stations.get(up ? position : pathLength - position);
+
+            positions.add(TrainPosition.builder()
+                    .trainId(String.format("%d%04d", line, 1000 + i))
+                    .lineNumber(line)
+                    .stationId(station.id())
+                    .stationName(station.name())
+                    .frontendStationId(station.name())
+                    .direction(up ? "up" : "down")
+                    .lastUpdated(tickTime)
+                    .dataSource(DATA_SOURCE)
+                    .realtime(false)
+                    .build());
+        }
+        return List.copyOf(positions);
+    }
+
+    private int getBaseTrainCount(int lineNumber) {
+        return REALISTIC_TRAIN_COUNTS.getOrDefault(lineNumber, 5);
+    }
+
+    /**
+     * 시간대별 열차 수 조정
+     */
+    private int adjustTrainCountByTime(int baseCount, int hour) {
+        // 출근시간(7-9시): +2대
+        if (hour >= 7 && hour <= 9) {
+            return baseCount + 2;
+        }
+        // 퇴근시간(18-20시): +1대
+        else if (hour >= 18 && hour <= 20) {
+            return baseCount + 1;
+        }
+        // 심야시간(0-5시): -2대
+        else if (hour >= 0 && hour <= 5) {
+            return Math.max(2, baseCount - 2);
+        }
+
+        return baseCount;
+    }
+
+    private record StationInfo(String name, String id) {
+    }
+
+    private record MockSnapshot(long tick, Map<Integer, List<TrainPosition>> byLine) {
+    }
+}
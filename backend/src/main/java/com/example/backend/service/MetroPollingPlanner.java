@@ -0,0 +1,115 @@
+package com.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 적응형 폴링 계획
+ *
+ * 남은 일일 호출량을 남은 운행 시간에 시간대 가중치(출퇴근 시간 가중)만큼 배분해
+ * 다음 폴링까지의 간격을 계산한다. 시청 중인 노선만 조회하고,
+ * 시청자가 없으면 유휴 간격으로 늦춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetroPollingPlanner {
+
+    // 운행 시간 (MetroDataScheduler.isOperatingHours와 동일: 5시 ~ 24시)
+    private static final int SERVICE_START_HOUR = 5;
+
+    private final MetroDemandTracker demandTracker;
+
+    @Value("${seoul.metro.scheduler.min-interval-seconds:60}")
+    private int minIntervalSeconds;
+
+    @Value("${seoul.metro.scheduler.max-interval-seconds:600}")
+    private int maxIntervalSeconds;
+
+    @Value("${seoul.metro.scheduler.idle-interval-seconds:600}")
+    private int idleIntervalSeconds;
+
+    @Value("${seoul.metro.scheduler.rush-hour-weight:3.0}")
+    private double rushHourWeight;
+
+    /**
+     * 이번 폴링 대상 노선 - 시청 중인 활성 노선, 없으면 전체(캐시 유지용)
+     */
+    public List<String> selectLines(List<String> enabledLines) {
+        Set<String> watched = demandTracker.getWatchedLines(enabledLines);
+        List<String> lines = enabledLines.stream()
+                .filter(watched::contains)
+                .toList();
+        return lines.isEmpty() ? enabledLines : lines;
+    }
+
+    /**
+     * 다음 폴링까지 간격(ms)
+     *
+     * @param callsUsed   오늘 사용한 호출 수
+     * @param dailyLimit  일일 호출 한도
+     * @param linesPerPoll 폴링 1회당 호출 수 (조회 노선 수)
+     */
+    public long nextDelayMillis(int callsUsed, int dailyLimit, int linesPerPoll) {
+        LocalDateTime now = LocalDateTime.now();
+        int viewers = demandTracker.getActiveViewerCount();
+
+        long remainingPolls = (dailyLimit - callsUsed) / Math.max(1, linesPerPoll);
+        double currentWeight = weightOf(now.getHour());
+        double intervalSeconds;
+
+        if (remainingPolls <= 0 || currentWeight <= 0) {
+            intervalSeconds = maxIntervalSeconds;
+        } else {
+            // 남은 폴링 횟수를 가중 잔여 시간에 비례 배분 → 현재 시간대의 간격
+            intervalSeconds = weightedRemainingSeconds(now) / (remainingPolls * currentWeight);
+        }
+
+        if (viewers == 0) {
+            intervalSeconds = Math.max(intervalSeconds, idleIntervalSeconds);
+        }
+
+        long clamped = Math.round(Math.min(maxIntervalSeconds, Math.max(minIntervalSeconds, intervalSeconds)));
+        log.debug("적응형 폴링 간격: {}초 (남은 폴링 {}회, 시청자 {}명, 가중치 {})",
+                clamped, remainingPolls, viewers, currentWeight);
+        return clamped * 1000L;
+    }
+
+    public long getMinIntervalMillis() {
+        return minIntervalSeconds * 1000L;
+    }
+
+    /**
+     * 자정(일일 카운트 초기화)까지 남은 운행 시간의 가중 합
+     */
+    private double weightedRemainingSeconds(LocalDateTime now) {
+        double total = 0;
+        LocalDateTime cursor = now;
+        LocalDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay();
+
+        while (cursor.isBefore(midnight)) {
+            LocalDateTime hourEnd = cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            total += ChronoUnit.SECONDS.between(cursor, hourEnd) * weightOf(cursor.getHour());
+            cursor = hourEnd;
+        }
+        return total;
+    }
+
+    // 출퇴근 시간(7~9시, 18~20시) 가중, 심야 운행 중단 시간은 0
+    private double weightOf(int hour) {
+        if (hour < SERVICE_START_HOUR) {
+            return 0;
+        }
+        if (hour >= 7 && hour <= 9 || hour >= 18 && hour <= 20) {
+            return rushHourWeight;
+        }
+        return 1.0;
+    }
+}
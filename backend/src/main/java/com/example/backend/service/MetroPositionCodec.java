@@ -0,0 +1,258 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 열차 위치 캐시 바이너리 코덱
+ *
+ * 포맷 (v1):
+ * - 헤더: 매직 "MTP" + 버전, 노선, 갱신/다음 갱신 시각(epoch millis), 상태, 출처, 시퀀스
+ * - 문자열 사전: 역 ID/역명/방향/출처 등 반복 문자열을 한 번만 기록
+ * - 열차 목록: 사전 인덱스(varint), 노선 번호(varint), 갱신 시각은 헤더 기준 차이(zigzag varint)
+ *
+ * 매직이 없는 값은 기존 JSON 형식으로 간주 (MetroCacheService에서 폴백 처리)
+ */
+@Component
+public class MetroPositionCodec {
+
+    private static final byte[] MAGIC = {'M', 'T', 'P'};
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_X = 1;
+    private static final int FLAG_Y = 1 << 1;
+    private static final int FLAG_REALTIME = 1 << 2;
+    private static final int FLAG_LAST_UPDATED = 1 << 3;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * 바이너리 포맷 여부 (매직 헤더 확인)
+     */
+    public boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > MAGIC.length &&
+                bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1] && bytes[2] == MAGIC[2];
+    }
+
+    public byte[] encode(MetroCacheService.PositionCacheData data) throws IOException {
+        List<TrainPosition> positions = data.getPositions() != null ? data.getPositions() : List.of();
+
+        // 1. 문자열 사전 구성
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        for (TrainPosition train : positions) {
+            intern(dictionary, entries, train.getStationId());
+            intern(dictionary, entries, train.getStationName());
+            intern(dictionary, entries, train.getFrontendStationId());
+            intern(dictionary, entries, train.getDirection());
+            intern(dictionary, entries, train.getDataSource());
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + positions.size() * 24);
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        // 2. 헤더
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeString(out, data.getLineNumber());
+        long baseMillis = toMillis(data.getLastUpdated());
+        out.writeLong(baseMillis);
+        out.writeLong(toMillis(data.getNextUpdateTime()));
+        out.writeByte(data.getIsHealthy() == null ? 0 : data.getIsHealthy() ? 1 : 2);
+        writeString(out, data.getDataSource());
+        writeVarLong(out, data.getSequence() != null ? data.getSequence() + 1 : 0);
+
+        // 3. 사전
+        writeVarInt(out, entries.size());
+        for (String entry : entries) {
+            writeString(out, entry);
+        }
+
+        // 4. 열차 목록
+        writeVarInt(out, positions.size());
+        for (TrainPosition train : positions) {
+            writeString(out, train.getTrainId());
+            writeVarInt(out, train.getLineNumber() != null ? train.getLineNumber() + 1 : 0);
+            writeRef(out, dictionary, train.getStationId());
+            writeRef(out, dictionary, train.getStationName());
+            writeRef(out, dictionary, train.getFrontendStationId());
+            writeRef(out, dictionary, train.getDirection());
+            writeRef(out, dictionary, train.getDataSource());
+
+            int flags = (train.getX() != null ? FLAG_X : 0)
+                    | (train.getY() != null ? FLAG_Y : 0)
+                    | (train.isRealtime() ? FLAG_REALTIME : 0)
+                    | (train.getLastUpdated() != null ? FLAG_LAST_UPDATED : 0);
+            out.writeByte(flags);
+            if (train.getX() != null) out.writeDouble(train.getX());
+            if (train.getY() != null) out.writeDouble(train.getY());
+            if (train.getLastUpdated() != null) {
+                writeVarLong(out, zigzag(toMillis(train.getLastUpdated()) - baseMillis));
+            }
+        }
+
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    public MetroCacheService.PositionCacheData decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        // 1. 헤더
+        in.skipBytes(MAGIC.length);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 위치 캐시 버전: " + version);
+        }
+        String lineNumber = readString(in);
+        long baseMillis = in.readLong();
+        long nextMillis = in.readLong();
+        int healthy = in.readByte();
+        String dataSource = readString(in);
+        long sequence = readVarLong(in);
+
+        // 2. 사전
+        int dictionarySize = readVarInt(in);
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = readString(in);
+        }
+
+        // 3. 열차 목록
+        int count = readVarInt(in);
+        List<TrainPosition> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TrainPosition.TrainPositionBuilder train = TrainPosition.builder()
+                    .trainId(readString(in));
+            int line = readVarInt(in);
+            train.lineNumber(line > 0 ? line - 1 : null)
+                    .stationId(readRef(in, dictionary))
+                    .stationName(readRef(in, dictionary))
+                    .frontendStationId(readRef(in, dictionary))
+                    .direction(readRef(in, dictionary))
+                    .dataSource(readRef(in, dictionary));
+
+            int flags = in.readUnsignedByte();
+            if ((flags & FLAG_X) != 0) train.x(in.readDouble());
+            if ((flags & FLAG_Y) != 0) train.y(in.readDouble());
+            train.realtime((flags & FLAG_REALTIME) != 0);
+            if ((flags & FLAG_LAST_UPDATED) != 0) {
+                train.lastUpdated(fromMillis(baseMillis + unzigzag(readVarLong(in))));
+            }
+            positions.add(train.build());
+        }
+
+        return MetroCacheService.PositionCacheData.builder()
+                .lineNumber(lineNumber)
+                .positions(positions)
+                .lastUpdated(fromMillis(baseMillis))
+                .nextUpdateTime(fromMillis(nextMillis))
+                .isHealthy(healthy == 0 ? null : healthy == 1)
+                .dataSource(dataSource)
+                .sequence(sequence > 0 ? sequence - 1 : null)
+                .build();
+    }
+
+    // ===== 인코딩 유틸리티 =====
+
+    private void intern(Map<String, Integer> dictionary, List<String> entries, String value) {
+        if (value != null && !dictionary.containsKey(value)) {
+            dictionary.put(value, entries.size());
+            entries.add(value);
+        }
+    }
+
+    // 0 = null, 그 외 사전 인덱스 + 1
+    private void writeRef(DataOutputStream out, Map<String, Integer> dictionary, String value) throws IOException {
+        writeVarInt(out, value != null ? dictionary.get(value) + 1 : 0);
+    }
+
+    private String readRef(DataInputStream in, String[] dictionary) throws IOException {
+        int ref = readVarInt(in);
+        return ref > 0 ? dictionary[ref - 1] : null;
+    }
+
+    // 길이(varint, 0 = null) + UTF-8 바이트
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeVarInt(OutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private int readVarInt(InputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("위치 캐시 데이터가 손상되었습니다");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("잘못된 varint 인코딩");
+    }
+
+    private long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZONE).toInstant().toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private LocalDateTime fromMillis(long millis) {
+        return millis != Long.MIN_VALUE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE) : null;
+    }
+}
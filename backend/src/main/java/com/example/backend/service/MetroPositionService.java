@@ -2,7 +2,6 @@ package com.example.backend.service;
 
 import com.example.backend.dto.metro.TrainPosition;
 import com.example.backend.dto.metro.MetroPositionResponse;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,7 +9,6 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,67 +24,10 @@ public class MetroPositionService {
     private String enabledLinesConfig;
 
     private final MetroStationFilter stationFilter;
+    private final MetroMockEngine mockEngine;
 
     private List<Integer> enabledLines;
 
-    private static final Map<Integer, Integer> REALISTIC_TRAIN_COUNTS = Map.of(
-            1, 8,   // 1호선: 일반적인 운행 밀도
-            2, 12,  // 2호선: 순환선이라 가장 많음
-            3, 7,   // 3호선: 중간 밀도
-            4, 6    // 4호선: 분기선 포함, 상대적으로 적음
-    );
-
-    private static final Map<Integer, List<StationInfo>> LINE_STATIONS = Map.of(
-            1, Arrays.asList(
-                    new StationInfo("도봉산", "1001000117"),
-                    new StationInfo("창동", "1001000116"),
-                    new StationInfo("종로5가", "1001000129"),
-                    new StationInfo("종각", "1001000131"),
-                    new StationInfo("시청", "1001000132"),
-                    new StationInfo("서울역", "1001000133"),
-                    new StationInfo("용산", "1001000135"),
-                    new StationInfo("영등포", "1001000139"),
-                    new StationInfo("구로", "1001000141"),
-                    new StationInfo("온수", "1001000145")
-            ),
-            2, Arrays.asList(
-                    new StationInfo("을지로입구", "1002000202"),
-                    new StationInfo("동대문역사문화공원", "1002000205"),
-                    new StationInfo("건대입구", "1002000212"),
-                    new StationInfo("잠실", "1002000216"),
-                    new StationInfo("삼성", "1002000219"),
-                    new StationInfo("강남", "1002000222"),
-                    new StationInfo("사당", "1002000226"),
-                    new StationInfo("신림", "1002000230"),
-                    new StationInfo("구로디지털단지", "1002000232"),
-                    new StationInfo("홍대입구", "1002000239"),
-                    new StationInfo("신촌", "1002000240")
-            ),
-            3, Arrays.asList(
-                    new StationInfo("구파발", "1003000301"),
-                    new StationInfo("불광", "1003000303"),
-                    new StationInfo("독립문", "1003000307"),
-                    new StationInfo("종로3가", "1003000310"),
-                    new StationInfo("충무로", "1003000328"),
-                    new StationInfo("압구정", "1003000323"),
-                    new StationInfo("교대", "1003000319"),
-                    new StationInfo("양재", "1003000344"),
-                    new StationInfo("수서", "1003000351"),
-                    new StationInfo("오금", "1003000352")
-            ),
-            4, Arrays.asList(
-                    new StationInfo("당고개", "1004000401"),
-                    new StationInfo("상계", "1004000402"),
-                    new StationInfo("창동", "1004000412"),
-                    new StationInfo("한성대입구", "1004000419"),
-                    new StationInfo("동대문", "1004000421"),
-                    new StationInfo("충무로", "1004000423"),
-                    new StationInfo("명동", "1004000424"),
-                    new StationInfo("서울역", "1004000426"),
-                    new StationInfo("사당", "1004000433")
-            )
-    );
-
     @PostConstruct
     public void init() {
         // null 안전 처리
@@ -102,8 +43,8 @@ public class MetroPositionService {
         }
 
         int stationCount = 0;
-        if (stationFilter != null && stationFilter.getFrontendStationIds() != null) {
-            stationCount = stationFilter.getFrontendStationIds().size();
+        if (stationFilter != null) {
+            stationCount = stationFilter.getFrontendStationCount();
         }
 
         log.info("지하철 위치 서비스 초기화 완료: 활성 노선 {}", enabledLines);
@@ -120,7 +61,7 @@ public class MetroPositionService {
             if (enabledLines != null) {
                 for (Integer lineNumber : enabledLines) {
                     if (lineNumber != null) {
-                        List<TrainPosition> linePositions = generateRealisticLinePositions(lineNumber);
+                        List<TrainPosition> linePositions = generateLinePositions(lineNumber);
                         if (linePositions != null) {
                             allPositions.addAll(linePositions);
                         }
@@ -178,7 +119,7 @@ public class MetroPositionService {
             }
 
             // 1. 해당 노선 위치 정보 생성
-            List<TrainPosition> allLinePositions = generateRealisticLinePositions(lineNumber);
+            List<TrainPosition> allLinePositions = generateLinePositions(lineNumber);
             if (allLinePositions == null) {
                 allLinePositions = new ArrayList<>();
             }
@@ -219,101 +160,14 @@ public class MetroPositionService {
     }
 
     /**
-     * 현실적인 위치 정보 생성 - null 안전 처리
+     * 시뮬레이션 엔진의 현재 tick 위치 (요청마다 새로 생성하지 않음)
      */
-    private List<TrainPosition> generateRealisticLinePositions(Integer lineNumber) {
-        if (lineNumber == null) {
-            return new ArrayList<>();
-        }
-
-        List<StationInfo> stations = LINE_STATIONS.get(lineNumber);
-        if (stations == null || stations.isEmpty()) {
+    private List<TrainPosition> generateLinePositions(Integer lineNumber) {
+        if (!mockEngine.hasLine(lineNumber)) {
             log.warn("{}호선 역 정보 없음", lineNumber);
             return new ArrayList<>();
         }
-
-        int trainCount = getRealisticTrainCount(lineNumber);
-        trainCount = adjustTrainCountByTime(trainCount);
-
-        List<TrainPosition> positions = new ArrayList<>();
-        Random random = new Random();
-
-        for (int i = 0; i < trainCount; i++) {
-            StationInfo station = getDistributedStation(stations, i, trainCount);
-            if (station == null) continue;
-
-            String direction = getRealisticDirection(random, lineNumber);
-
-            TrainPosition position = TrainPosition.builder()
-                    .trainId(String.format("%d%04d", lineNumber, 1000 + i))
-                    .lineNumber(lineNumber)
-                    .stationId(station.getId())
-                    .stationName(station.getName())
-                    .frontendStationId(station.getName())
-                    .direction(direction)
-                    .lastUpdated(LocalDateTime.now().minusSeconds(random.nextInt(120)))
-                    .dataSource("CLEAN_MOCK")
-                    .realtime(false)
-                    .build();
-
-            positions.add(position);
-        }
-
-        return positions;
-    }
-
-    /**
-     * 현실적인 노선별 열차 수 반환 - null 안전
-     */
-    private int getRealisticTrainCount(Integer lineNumber) {
-        if (lineNumber == null) return 3;
-        return REALISTIC_TRAIN_COUNTS.getOrDefault(lineNumber, 5);
-    }
-
-    /**
-     * 시간대별 열차 수 조정
-     */
-    private int adjustTrainCountByTime(int baseCount) {
-        LocalTime now = LocalTime.now();
-        int hour = now.getHour();
-
-        // 출근시간(7-9시): +2대
-        if (hour >= 7 && hour <= 9) {
-            return baseCount + 2;
-        }
-        // 퇴근시간(18-20시): +1대
-        else if (hour >= 18 && hour <= 20) {
-            return baseCount + 1;
-        }
-        // 심야시간(0-5시): -2대
-        else if (hour >= 0 && hour <= 5) {
-            return Math.max(2, baseCount - 2);
-        }
-
-        return baseCount;
-    }
-
-    /**
-     * 열차를 역에 순서대로 분산 배치 - null 안전
-     */
-    private StationInfo getDistributedStation(List<StationInfo> stations, int trainIndex, int totalTrains) {
-        if (stations == null || stations.isEmpty()) {
-            return null;
-        }
-        // 전체 역을 열차 수로 나누어 균등 분산
-        int interval = Math.max(1, stations.size() / totalTrains);
-        int stationIndex = (trainIndex * interval) % stations.size();
-        return stations.get(stationIndex);
-    }
-
-    /**
-     * 상행/하행 방향 결정 - null 안전
-     */
-    private String getRealisticDirection(Random random, Integer lineNumber) {
-        if (random == null) {
-            return "up";
-        }
-        return random.nextDouble() < 0.6 ? "up" : "down";
+        return mockEngine.getLinePositions(lineNumber);
     }
 
     /**
@@ -400,15 +254,4 @@ public class MetroPositionService {
 
         return filterInfo;
     }
-
-    @Getter
-    private static class StationInfo {
-        private final String name;
-        private final String id;
-
-        public StationInfo(String name, String id) {
-            this.name = name != null ? name : "미정";
-            this.id = id != null ? id : "unknown";
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.RealtimePositionInfo;
+import com.example.backend.dto.metro.TrainPosition;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 서울시 실시간 위치 API 응답 스트리밍 파서
+ *
+ * 응답 청크를 받는 대로 Jackson 논블로킹 파서에 넣고, realtimePositionList의 각 항목을
+ * 닫히는 즉시 TrainPosition으로 변환한다. 사용하지 않는 필드는 문자열로 읽지 않고,
+ * 필터 대상이 아닌 역의 열차는 변환하지 않는다. 응답 1건당 1개 인스턴스 (스레드 안전하지 않음).
+ *
+ * 처리하는 응답 형태:
+ * - 정상: {"errorMessage":{"status":200,...},"realtimePositionList":[{...},...]}
+ * - 직접 에러: {"status":500,"message":"해당하는 데이터가 없습니다.",...}
+ */
+public class MetroPositionStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String ERROR_MESSAGE_FIELD = "errorMessage";
+    private static final String POSITION_LIST_FIELD = "realtimePositionList";
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Predicate<String> stationFilter;
+    private final Function<RealtimePositionInfo, TrainPosition> converter;
+
+    private final List<TrainPosition> positions = new ArrayList<>();
+    private int depth = 0;
+    private String rootField;
+    private String currentField;
+    private boolean inPositionList;
+    private RealtimePositionInfo.RealtimePositionInfoBuilder current;
+
+    private Integer directStatus;
+    private String directMessage;
+    private boolean hasErrorMessage;
+    private Integer wrapperStatus;
+    private String wrapperMessage;
+    private int trainCount;
+
+    public MetroPositionStreamParser(Predicate<String> stationFilter,
+                                     Function<RealtimePositionInfo, TrainPosition> converter) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.stationFilter = stationFilter;
+        this.converter = converter;
+    }
+
+    /**
+     * 응답 청크 처리 - 현재까지 완성된 토큰만 소비
+     */
+    public void feed(byte[] chunk, int offset, int length) {
+        try {
+            feeder.feedInput(chunk, offset, offset + length);
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException("위치 응답 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 입력 종료 후 결과 반환 (기존 processOpenApiResponse와 같은 에러/빈 응답 판정)
+     * API 결과 자체의 에러/빈 응답은 IllegalStateException (재시도 대상 아님)
+     */
+    public List<TrainPosition> finish() {
+        try {
+            feeder.endOfInput();
+            drain();
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("위치 응답 파싱 실패", e);
+        }
+
+        if (directStatus != null && directStatus != 200) {
+            throw new IllegalStateException("API_ERROR: " + unifiedErrorMessage());
+        }
+        if (hasErrorMessage && (wrapperStatus == null || wrapperStatus != 200)) {
+            throw new IllegalStateException("API_ERROR: " + unifiedErrorMessage());
+        }
+        if (trainCount == 0) {
+            throw new IllegalStateException("API_EMPTY: 운행 데이터 없음");
+        }
+        return positions;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> {
+                    currentField = parser.currentName();
+                    if (depth == 1) {
+                        rootField = currentField;
+                    }
+                }
+                case START_OBJECT, START_ARRAY -> startStructure(token);
+                case END_OBJECT, END_ARRAY -> endStructure(token);
+                default -> scalar(token);
+            }
+        }
+    }
+
+    private void startStructure(JsonToken token) {
+        depth++;
+        if (depth == 2 && token == JsonToken.START_OBJECT && ERROR_MESSAGE_FIELD.equals(rootField)) {
+            hasErrorMessage = true;
+        } else if (depth == 2 && token == JsonToken.START_ARRAY && POSITION_LIST_FIELD.equals(rootField)) {
+            inPositionList = true;
+        } else if (depth == 3 && token == JsonToken.START_OBJECT && inPositionList) {
+            current = RealtimePositionInfo.builder();
+        }
+    }
+
+    private void endStructure(JsonToken token) {
+        if (depth == 3 && token == JsonToken.END_OBJECT && current != null) {
+            RealtimePositionInfo info = current.build();
+            current = null;
+            trainCount++;
+            if (info.getStatnId() != null && stationFilter.test(info.getStatnId())) {
+                TrainPosition position = converter.apply(info);
+                if (position != null) {
+                    positions.add(position);
+                }
+            }
+        } else if (depth == 2 && token == JsonToken.END_ARRAY) {
+            inPositionList = false;
+        }
+        depth--;
+    }
+
+    private void scalar(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL || currentField == null) {
+            return;
+        }
+
+        if (depth == 3 && current != null) {
+            // 변환에 쓰는 필드만 문자열로 읽음
+            switch (currentField) {
+                case "subwayId" -> current.subwayId(parser.getText());
+                case "statnId" -> current.statnId(parser.getText());
+                case "statnNm" -> current.statnNm(parser.getText());
+                case "trainNo" -> current.trainNo(parser.getText());
+                case "updnLine" -> current.updnLine(parser.getText());
+                default -> { }
+            }
+        } else if (depth == 2 && hasErrorMessage && ERROR_MESSAGE_FIELD.equals(rootField)) {
+            switch (currentField) {
+                case "status" -> wrapperStatus = intValue(token);
+                case "message" -> wrapperMessage = parser.getText();
+                default -> { }
+            }
+        } else if (depth == 1) {
+            switch (currentField) {
+                case "status" -> directStatus = intValue(token);
+                case "message" -> directMessage = parser.getText();
+                default -> { }
+            }
+        }
+    }
+
+    private Integer intValue(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        try {
+            return Integer.valueOf(parser.getText().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String unifiedErrorMessage() {
+        if (directMessage != null && !directMessage.trim().isEmpty()) {
+            return directMessage;
+        }
+        if (wrapperMessage != null) {
+            return wrapperMessage;
+        }
+        return "알 수 없는 오류";
+    }
+}
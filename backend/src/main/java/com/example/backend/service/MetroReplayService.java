@@ -0,0 +1,254 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.MetroReplayStatus;
+import com.example.backend.dto.metro.TrainPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 지하철 위치 리플레이
+ *
+ * MetroHistoryStore에 기록된 스냅샷을 기록 시각 간격 / 배속으로 재생해
+ * MetroDataScheduler의 실시간 갱신 경로(필터링 → 캐시 → 사전 렌더링 → SSE 전파)에 그대로 흘려보낸다.
+ * 실제 출퇴근 시간대 트래픽 형태로 오프라인 부하/성능 측정을 하기 위한 용도이며,
+ * 재생 중에는 실시간 폴링이 중단되고 캐시가 재생 데이터로 채워진다.
+ * 다중 노드(리더 선출 활성화)에서는 공유 캐시를 쓰는 지하철 스케줄러 리더 노드에서만 시작할 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetroReplayService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final double MIN_SPEED = 1.0;
+
+    private final MetroHistoryStore historyStore;
+    private final MetroDataScheduler dataScheduler;
+    private final LeaderElectionService leaderElection;
+
+    @Value("${seoul.metro.replay.enabled:false}")
+    private boolean enabled;
+
+    @Value("${seoul.metro.replay.max-speed:100}")
+    private double maxSpeed;
+
+    @Value("${seoul.metro.replay.max-frames:5000}")
+    private int maxFrames;
+
+    // 기록 공백(심야/중단 구간) 상한 - 재생 시 이보다 긴 간격은 압축
+    @Value("${seoul.metro.replay.max-gap-seconds:600}")
+    private int maxGapSeconds;
+
+    private volatile ReplayRun currentRun;
+    private volatile Disposable playback;
+
+    /**
+     * 리플레이 시작
+     *
+     * @throws IllegalStateException 비활성화/이력 저장 꺼짐/이미 재생 중
+     * @throws IllegalArgumentException 잘못된 기간/배속 또는 재생할 기록 없음
+     */
+    public synchronized MetroReplayStatus start(LocalDateTime from, LocalDateTime to, double speed,
+                                                List<Integer> lines) throws IOException {
+        if (!enabled) {
+            throw new IllegalStateException("리플레이가 비활성화되어 있습니다.");
+        }
+        if (!leaderElection.isLeader(LeaderElectionService.METRO_SCHEDULER)) {
+            // 팔로워에서 재생하면 리더의 실시간 폴링과 같은 공유 캐시 키를 덮어씀
+            throw new IllegalStateException("리플레이는 지하철 스케줄러 리더 노드에서만 시작할 수 있습니다.");
+        }
+        if (!historyStore.isEnabled()) {
+            throw new IllegalStateException("위치 이력 저장이 비활성화되어 있어 재생할 기록이 없습니다.");
+        }
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("잘못된 재생 기간입니다.");
+        }
+        if (speed < MIN_SPEED || speed > maxSpeed) {
+            throw new IllegalArgumentException(
+                    String.format("배속은 %.0f~%.0f 사이여야 합니다.", MIN_SPEED, maxSpeed));
+        }
+
+        List<ReplayFrame> frames = loadFrames(from, to, lines, speed);
+        if (frames.isEmpty()) {
+            throw new IllegalArgumentException("해당 기간에 기록된 스냅샷이 없습니다.");
+        }
+
+        if (!dataScheduler.beginReplay()) {
+            throw new IllegalStateException("이미 리플레이가 진행 중입니다.");
+        }
+
+        ReplayRun run = new ReplayRun(from, to, speed, List.copyOf(lines), frames.size(), System.currentTimeMillis());
+        currentRun = run;
+        log.info("리플레이 시작: {} ~ {}, {}배속, 노선 {}, {}프레임", from, to, speed, lines, frames.size());
+
+        // 프레임별 예정 시각까지 대기 후 반영 (예정 시각 기준이라 처리 지연이 누적되지 않음)
+        playback = Flux.fromIterable(frames)
+                .concatMap(frame -> Mono.delay(
+                                Duration.ofMillis(Math.max(0, run.startedAtMillis + frame.offsetMillis()
+                                        - System.currentTimeMillis())),
+                                Schedulers.boundedElastic())
+                        .thenReturn(frame))
+                .doFinally(signal -> finish(run, signal))
+                .subscribe(frame -> play(run, frame),
+                        error -> log.error("리플레이 중단: {}", error.getMessage()));
+
+        return toStatus(run);
+    }
+
+    /**
+     * 리플레이 중지 (진행 중이 아니면 현재 상태만 반환)
+     */
+    public synchronized MetroReplayStatus stop() {
+        Disposable current = playback;
+        if (current != null && !current.isDisposed()) {
+            current.dispose();
+        }
+        return getStatus();
+    }
+
+    public MetroReplayStatus getStatus() {
+        ReplayRun run = currentRun;
+        return run != null ? toStatus(run) : MetroReplayStatus.builder().running(false).build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * 노선별 기록을 같은 관측 시각끼리 묶어 프레임 구성 (스케줄러 1회 갱신 = 1프레임)
+     * 재생 시점 = 기록 간격(공백 압축) / 배속의 누적
+     */
+    private List<ReplayFrame> loadFrames(LocalDateTime from, LocalDateTime to, List<Integer> lines,
+                                         double speed) throws IOException {
+        TreeMap<Long, Map<String, List<TrainPosition>>> byTime = new TreeMap<>();
+        for (Integer line : lines) {
+            historyStore.forEachSnapshot(line, from, to, (lineNumber, observedAtMillis, positions) -> {
+                byTime.computeIfAbsent(observedAtMillis, key -> new TreeMap<>())
+                        .put(String.valueOf(lineNumber), positions);
+                return byTime.size() <= maxFrames;
+            });
+        }
+        while (byTime.size() > maxFrames) {
+            byTime.pollLastEntry();
+        }
+
+        List<ReplayFrame> frames = new ArrayList<>(byTime.size());
+        long previousMillis = byTime.isEmpty() ? 0 : byTime.firstKey();
+        double offset = 0;
+        for (Map.Entry<Long, Map<String, List<TrainPosition>>> entry : byTime.entrySet()) {
+            offset += Math.min(entry.getKey() - previousMillis, maxGapSeconds * 1000L) / speed;
+            previousMillis = entry.getKey();
+
+            List<TrainPosition> trains = new ArrayList<>();
+            entry.getValue().values().forEach(trains::addAll);
+            frames.add(new ReplayFrame(entry.getKey(), (long) offset, List.copyOf(entry.getValue().keySet()), trains));
+        }
+        return frames;
+    }
+
+    private void play(ReplayRun run, ReplayFrame frame) {
+        long scheduledAt = run.startedAtMillis + frame.offsetMillis();
+        run.maxLagMillis = Math.max(run.maxLagMillis, System.currentTimeMillis() - scheduledAt);
+
+        long startNanos = System.nanoTime();
+        dataScheduler.applyReplaySnapshot(frame.trains(), frame.lines());
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        run.totalProcessNanos += elapsedNanos;
+        run.maxProcessNanos = Math.max(run.maxProcessNanos, elapsedNanos);
+        run.playedTrains += frame.trains().size();
+        run.currentFrameMillis = frame.observedAtMillis();
+        run.playedFrames++;
+    }
+
+    private void finish(ReplayRun run, SignalType signal) {
+        run.finishedAtMillis = System.currentTimeMillis();
+        dataScheduler.endReplay();
+        MetroReplayStatus status = toStatus(run);
+        log.info("리플레이 종료({}): {}/{}프레임, 열차 {}건, 프레임 처리 평균 {}ms / 최대 {}ms, 최대 지연 {}ms",
+                signal, status.getPlayedFrames(), status.getTotalFrames(), status.getPlayedTrains(),
+                String.format("%.2f", status.getAvgProcessMillis()),
+                String.format("%.2f", status.getMaxProcessMillis()), status.getMaxLagMillis());
+    }
+
+    private MetroReplayStatus toStatus(ReplayRun run) {
+        int played = run.playedFrames;
+        return MetroReplayStatus.builder()
+                .running(run.finishedAtMillis == 0)
+                .speed(run.speed)
+                .from(run.from)
+                .to(run.to)
+                .lines(run.lines)
+                .totalFrames(run.totalFrames)
+                .playedFrames(played)
+                .playedTrains(run.playedTrains)
+                .currentFrameTime(run.currentFrameMillis > 0 ? toDateTime(run.currentFrameMillis) : null)
+                .avgProcessMillis(played > 0 ? run.totalProcessNanos / 1_000_000.0 / played : 0)
+                .maxProcessMillis(run.maxProcessNanos / 1_000_000.0)
+                .maxLagMillis(run.maxLagMillis)
+                .startedAt(toDateTime(run.startedAtMillis))
+                .finishedAt(run.finishedAtMillis > 0 ? toDateTime(run.finishedAtMillis) : null)
+                .build();
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    /**
+     * 재생 프레임 (offsetMillis: 재생 시작 기준 반영 예정 시점, 배속/공백 압축 적용)
+     */
+    private record ReplayFrame(long observedAtMillis, long offsetMillis, List<String> lines,
+                               List<TrainPosition> trains) {
+    }
+
+    /**
+     * 리플레이 1회 실행 상태 (프레임 반영은 순차 실행 - 단일 작성자)
+     */
+    private static final class ReplayRun {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final double speed;
+        private final List<Integer> lines;
+        private final int totalFrames;
+        private final long startedAtMillis;
+
+        private volatile int playedFrames;
+        private volatile long playedTrains;
+        private volatile long currentFrameMillis;
+        private volatile long totalProcessNanos;
+        private volatile long maxProcessNanos;
+        private volatile long maxLagMillis;
+        private volatile long finishedAtMillis;
+
+        ReplayRun(LocalDateTime from, LocalDateTime to, double speed, List<Integer> lines,
+                  int totalFrames, long startedAtMillis) {
+            this.from = from;
+            this.to = to;
+            this.speed = speed;
+            this.lines = lines;
+            this.totalFrames = totalFrames;
+            this.startedAtMillis = startedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.auth.ApiResponse;
+import com.example.backend.dto.metro.MetroPositionResponse;
+import com.example.backend.dto.metro.TrainPosition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 지하철 위치 응답 사전 직렬화 서비스
+ * 스케줄러 갱신 시점에 ApiResponse JSON(+gzip)을 한 번만 만들어 두고,
+ * 컨트롤러는 요청마다 바이트 배열만 그대로 내려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetroResponseRenderer {
+
+    public static final String ALL_LINES_KEY = "ALL";
+
+    private final MetroCacheService metroCacheService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${seoul.metro.response.pre-serialized:true}")
+    private boolean preSerializedEnabled;
+
+    // 키: "ALL" 또는 노선 번호
+    private final Map<String, RenderedResponse> rendered = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return preSerializedEnabled;
+    }
+
+    /**
+     * 스케줄러 갱신 직후 전체 + 노선별 응답 사전 렌더링
+     */
+    public void renderAll(List<String> lineNumbers) {
+        if (!preSerializedEnabled) {
+            return;
+        }
+
+        getAllPositions();
+        if (lineNumbers != null) {
+            lineNumbers.forEach(this::getLinePositions);
+        }
+    }
+
+    /**
+     * 특정 노선 응답 사전 렌더링
+     */
+    public void renderLine(String lineNumber) {
+        if (preSerializedEnabled) {
+            getLinePositions(lineNumber);
+        }
+    }
+
+    /**
+     * 전체 노선 렌더링 응답 조회 (캐시 데이터가 없거나 만료되면 null)
+     */
+    public RenderedResponse getAllPositions() {
+        return resolve(ALL_LINES_KEY, metroCacheService.getAllPositions(),
+                "전체 노선 위치 정보 조회 성공 (실시간)");
+    }
+
+    /**
+     * 특정 노선 렌더링 응답 조회 (캐시 데이터가 없거나 만료되면 null)
+     */
+    public RenderedResponse getLinePositions(String lineNumber) {
+        return resolve(lineNumber, metroCacheService.getLinePositions(lineNumber),
+                lineNumber + "호선 위치 정보 조회 성공 (실시간)");
+    }
+
+    /**
+     * 캐시 데이터를 MetroPositionResponse로 변환
+     */
+    public MetroPositionResponse toPositionResponse(MetroCacheService.PositionCacheData cacheData) {
+        List<TrainPosition> positions = cacheData.getPositions() != null ?
+                cacheData.getPositions() : List.of();
+
+        // 노선별 통계 생성
+        Map<String, Integer> lineStatistics = positions.stream()
+                .filter(pos -> pos != null && pos.getLineNumber() != null)
+                .collect(Collectors.groupingBy(
+                        pos -> pos.getLineNumber().toString(),
+                        Collectors.collectingAndThen(Collectors.counting(), Math::toIntExact)
+                ));
+
+        return MetroPositionResponse.builder()
+                .positions(positions)
+                .totalTrains(positions.size())
+                .lineStatistics(lineStatistics)
+                .lastUpdated(cacheData.getLastUpdated() != null ?
+                        cacheData.getLastUpdated() : LocalDateTime.now())
+                .nextUpdate(cacheData.getNextUpdateTime())
+                .dataSource("API") // 실제 API 데이터임을 명시
+                .realtime(true) // 실시간 데이터임을 명시
+                .systemStatus("HEALTHY")
+                .sequence(cacheData.getSequence())
+                .build();
+    }
+
+    /**
+     * 캐시 데이터 객체가 바뀐 경우에만 다시 렌더링 (L1 스냅샷 동일성 기준)
+     */
+    private RenderedResponse resolve(String key, MetroCacheService.PositionCacheData cacheData, String message) {
+        if (cacheData == null || !metroCacheService.isCacheValid(cacheData)) {
+            return null;
+        }
+
+        RenderedResponse current = rendered.get(key);
+        if (current != null && current.getSource() == cacheData) {
+            return current;
+        }
+
+        try {
+            RenderedResponse fresh = render(cacheData, message);
+            rendered.put(key, fresh);
+            return fresh;
+        } catch (IOException e) {
+            log.error("{} 위치 응답 직렬화 실패: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private RenderedResponse render(MetroCacheService.PositionCacheData cacheData, String message) throws IOException {
+        ApiResponse response = ApiResponse.builder()
+                .success(true)
+                .message(message)
+                .data(toPositionResponse(cacheData))
+                .build();
+
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] gzip = gzip(json);
+        String hash = DigestUtils.md5DigestAsHex(json);
+        long lastModified = cacheData.getLastUpdated() != null ?
+                cacheData.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+
+        return new RenderedResponse(cacheData, json, gzip, "\"" + hash + "\"", "\"" + hash + "-gz\"", lastModified);
+    }
+
+    private byte[] gzip(byte[] source) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(source.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(source);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 사전 직렬화된 응답 (원본 JSON + gzip 변형, 각각의 강한 ETag)
+     */
+    public static class RenderedResponse {
+        private final MetroCacheService.PositionCacheData source;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+        private final long lastModified;
+
+        public RenderedResponse(MetroCacheService.PositionCacheData source, byte[] json, byte[] gzip,
+                                String etag, String gzipEtag, long lastModified) {
+            this.source = source;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+            this.lastModified = lastModified;
+        }
+
+        // Getters
+        public MetroCacheService.PositionCacheData getSource() { return source; }
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+        public String getEtag() { return etag; }
+        public String getGzipEtag() { return gzipEtag; }
+        public long getLastModified() { return lastModified; }
+    }
+}
@@ -189,6 +189,11 @@ public class MetroStationFilter {
             "1004000456"  // 오이도
     );
 
+    /**
+     * 역 ID 정수 코드/노선 BitSet 인덱스 (기동 시 1회 생성)
+     */
+    private MetroStationIndex stationIndex;
+
     /**
      * 노선별 프론트엔드 역 통계
      */
@@ -196,16 +201,11 @@ public class MetroStationFilter {
 
     @PostConstruct
     public void init() {
-        // 노선별 역 개수 계산
-        frontendStationsByLine = Map.of(
-                1, (int) FRONTEND_STATION_IDS.stream().filter(id -> id.startsWith("1001")).count(),
-                2, (int) FRONTEND_STATION_IDS.stream().filter(id -> id.startsWith("1002")).count(),
-                3, (int) FRONTEND_STATION_IDS.stream().filter(id -> id.startsWith("1003")).count(),
-                4, (int) FRONTEND_STATION_IDS.stream().filter(id -> id.startsWith("1004")).count()
-        );
+        stationIndex = new MetroStationIndex(FRONTEND_STATION_IDS);
+        frontendStationsByLine = Map.copyOf(stationIndex.countByLine());
 
         log.info("=== 지하철 역 필터 초기화 ===");
-        log.info("총 프론트엔드 역: {}개", FRONTEND_STATION_IDS.size());
+        log.info("총 프론트엔드 역: {}개", stationIndex.size());
         log.info("노선별 역 수: {}", frontendStationsByLine);
     }
 
@@ -217,18 +217,68 @@ public class MetroStationFilter {
             return new ArrayList<>();
         }
 
-        List<TrainPosition> filteredPositions = allPositions.stream()
-                .filter(position -> {
-                    if (position.getStationId() == null) {
-                        return false;
-                    }
-                    return FRONTEND_STATION_IDS.contains(position.getStationId());
-                })
-                .collect(Collectors.toList());
+        List<TrainPosition> filteredPositions = new ArrayList<>(allPositions.size());
+        for (TrainPosition position : allPositions) {
+            if (position != null && stationIndex.contains(position.getStationId())) {
+                filteredPositions.add(position);
+            }
+        }
 
         return filteredPositions;
     }
 
+    /**
+     * 필터링 + 노선별 분리 + 통계를 한 번의 순회로 처리
+     * 활성 노선은 열차가 없어도 빈 목록으로 포함 (노선 캐시 갱신용)
+     */
+    public PartitionedPositions partitionByLine(List<TrainPosition> allPositions, Collection<String> enabledLines) {
+        List<TrainPosition> filtered = new ArrayList<>();
+        Map<String, List<TrainPosition>> byLine = new LinkedHashMap<>();
+        Map<Integer, Long> originalByLine = new HashMap<>();
+        Map<Integer, Long> filteredByLine = new HashMap<>();
+
+        if (enabledLines != null) {
+            enabledLines.forEach(line -> byLine.put(line, new ArrayList<>()));
+        }
+
+        int originalCount = 0;
+        if (allPositions != null) {
+            for (TrainPosition position : allPositions) {
+                if (position == null) {
+                    continue;
+                }
+                originalCount++;
+
+                Integer lineNumber = position.getLineNumber();
+                originalByLine.merge(lineNumber, 1L, Long::sum);
+
+                if (!stationIndex.contains(position.getStationId())) {
+                    continue;
+                }
+
+                filtered.add(position);
+                filteredByLine.merge(lineNumber, 1L, Long::sum);
+
+                List<TrainPosition> lineTrains = byLine.get(String.valueOf(lineNumber));
+                if (lineTrains != null) {
+                    lineTrains.add(position);
+                }
+            }
+        }
+
+        int reduction = originalCount - filtered.size();
+        FilteringStatistics stats = FilteringStatistics.builder()
+                .originalCount(originalCount)
+                .filteredCount(filtered.size())
+                .reductionCount(reduction)
+                .reductionPercentage(originalCount > 0 ? (double) reduction / originalCount * 100 : 0.0)
+                .originalByLine(originalByLine)
+                .filteredByLine(filteredByLine)
+                .build();
+
+        return new PartitionedPositions(filtered, byLine, stats);
+    }
+
     /**
      * 특정 노선의 위치 데이터 필터링
      */
@@ -237,15 +287,16 @@ public class MetroStationFilter {
             return new ArrayList<>();
         }
 
-        String linePrefix = "100" + lineNumber;
+        List<TrainPosition> filteredPositions = new ArrayList<>();
+        if (lineNumber == null) {
+            return filteredPositions;
+        }
 
-        List<TrainPosition> filteredPositions = allPositions.stream()
-                .filter(position -> {
-                    if (position.getStationId() == null) return false;
-                    return position.getStationId().startsWith(linePrefix) &&
-                            FRONTEND_STATION_IDS.contains(position.getStationId());
-                })
-                .collect(Collectors.toList());
+        for (TrainPosition position : allPositions) {
+            if (position != null && stationIndex.isOnLine(position.getStationId(), lineNumber)) {
+                filteredPositions.add(position);
+            }
+        }
 
         return filteredPositions;
     }
@@ -254,7 +305,7 @@ public class MetroStationFilter {
      * 역 ID가 프론트엔드에서 사용되는지 확인
      */
     public boolean isFrontendStation(String stationId) {
-        return stationId != null && FRONTEND_STATION_IDS.contains(stationId);
+        return stationIndex.contains(stationId);
     }
 
     /**
@@ -264,6 +315,13 @@ public class MetroStationFilter {
         return new HashSet<>(FRONTEND_STATION_IDS);
     }
 
+    /**
+     * 프론트엔드 역 수 반환 (목록 복사 없이)
+     */
+    public int getFrontendStationCount() {
+        return stationIndex.size();
+    }
+
     /**
      * 노선별 프론트엔드 역 수 반환
      */
@@ -321,13 +379,21 @@ public class MetroStationFilter {
     public List<String> getExcludedStations(List<TrainPosition> allPositions) {
         return allPositions.stream()
                 .filter(position -> position.getStationId() != null)
-                .filter(position -> !FRONTEND_STATION_IDS.contains(position.getStationId()))
+                .filter(position -> !stationIndex.contains(position.getStationId()))
                 .map(TrainPosition::getStationId)
                 .distinct()
                 .sorted()
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 단일 순회 분리 결과 (필터링된 전체 목록, 노선별 목록, 통계)
+     */
+    public record PartitionedPositions(List<TrainPosition> filtered,
+                                       Map<String, List<TrainPosition>> byLine,
+                                       FilteringStatistics stats) {
+    }
+
     /**
      * 필터링 통계 DTO
      */
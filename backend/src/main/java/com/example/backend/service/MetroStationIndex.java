@@ -0,0 +1,139 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 프론트엔드 역 ID 사전 계산 인덱스
+ *
+ * 10자리 숫자 역 ID("100L0SSSSS")를 문자열 해싱 없이 long으로 파싱해
+ * open addressing 테이블에서 0..n-1 정수 코드로 변환하고, 노선별 BitSet으로
+ * 노선 소속/역 수를 배열 조회로 판단한다. 기동 시 한 번 생성되는 불변 객체.
+ */
+public final class MetroStationIndex {
+
+    private static final long EMPTY = -1L;
+    private static final int MAX_LINE = 9;
+
+    private final long[] keys;
+    private final int[] codes;
+    private final int mask;
+
+    private final String[] stationIds;
+    private final int[] lineOfStation;
+    private final BitSet[] stationsByLine = new BitSet[MAX_LINE + 1];
+
+    public MetroStationIndex(Collection<String> stationIdSet) {
+        String[] sorted = stationIdSet.stream().sorted().toArray(String[]::new);
+        this.stationIds = sorted;
+        this.lineOfStation = new int[sorted.length];
+
+        int capacity = Integer.highestOneBit(Math.max(4, sorted.length * 2) - 1) << 1;
+        this.keys = new long[capacity];
+        this.codes = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+
+        for (int code = 0; code < sorted.length; code++) {
+            long key = parse(sorted[code]);
+            if (key < 0) {
+                throw new IllegalArgumentException("잘못된 역 ID: " + sorted[code]);
+            }
+            int slot = slot(key);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            codes[slot] = code;
+
+            int line = lineOf(sorted[code]);
+            lineOfStation[code] = line;
+            if (line > 0 && line <= MAX_LINE) {
+                if (stationsByLine[line] == null) {
+                    stationsByLine[line] = new BitSet(sorted.length);
+                }
+                stationsByLine[line].set(code);
+            }
+        }
+    }
+
+    /**
+     * 역 ID → 정수 코드 (프론트엔드 역이 아니면 -1)
+     */
+    public int indexOf(String stationId) {
+        long key = parse(stationId);
+        if (key < 0) {
+            return -1;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return codes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(String stationId) {
+        return indexOf(stationId) >= 0;
+    }
+
+    /**
+     * 해당 노선 소속 프론트엔드 역인지 확인
+     */
+    public boolean isOnLine(String stationId, int lineNumber) {
+        int code = indexOf(stationId);
+        return code >= 0 && lineOfStation[code] == lineNumber;
+    }
+
+    public String stationId(int code) {
+        return stationIds[code];
+    }
+
+    public int size() {
+        return stationIds.length;
+    }
+
+    /**
+     * 노선별 프론트엔드 역 수 (BitSet cardinality)
+     */
+    public Map<Integer, Integer> countByLine() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int line = 1; line <= MAX_LINE; line++) {
+            if (stationsByLine[line] != null) {
+                counts.put(line, stationsByLine[line].cardinality());
+            }
+        }
+        return counts;
+    }
+
+    // 숫자만으로 된 ID를 할당 없이 long으로 파싱 (그 외는 -1)
+    private static long parse(String stationId) {
+        if (stationId == null || stationId.isEmpty() || stationId.length() > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < stationId.length(); i++) {
+            char c = stationId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // "100L..." 형식의 4번째 자리가 노선 번호
+    private static int lineOf(String stationId) {
+        return stationId.length() >= 4 && stationId.startsWith("100") ? stationId.charAt(3) - '0' : 0;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.MetroStreamEvent;
+import com.example.backend.dto.metro.TrainPosition;
+import com.example.backend.dto.metro.TrainPositionDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지하철 위치 SSE 푸시 서비스
+ * 스케줄러 갱신 결과를 구독 중인 클라이언트에게 노선 단위 변경분으로 전파
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetroStreamService {
+
+    private final MetroCacheService metroCacheService;
+    private final MetroDeltaService deltaService;
+
+    @Value("${seoul.metro.stream.heartbeat-seconds:30}")
+    private int heartbeatSeconds;
+
+    // 느린 구독자는 이벤트를 건너뛰고(재접속 시 스냅샷으로 복구) 다른 구독자를 막지 않음
+    private final Sinks.Many<MetroStreamEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    // 노선별 마지막 전파 시퀀스 - 변경 없던 갱신을 건너뛰어도 변경분이 이어지도록
+    private final Map<String, Long> lastPublishedSequence = new ConcurrentHashMap<>();
+
+    // 노선별 구독자 수 - 적응형 폴링에서 시청 중인 노선 판단용
+    private final Map<String, Integer> subscribersByLine = new ConcurrentHashMap<>();
+
+    /**
+     * 구독 스트림 생성: 접속 시 요청 노선 스냅샷 → 이후 노선별 변경분만 전송
+     */
+    public Flux<ServerSentEvent<MetroStreamEvent>> subscribe(Set<String> lineNumbers) {
+        Flux<MetroStreamEvent> snapshots = Flux.fromIterable(lineNumbers)
+                .mapNotNull(line -> toSnapshotEvent(line, metroCacheService.getLinePositions(line)));
+
+        Flux<MetroStreamEvent> updates = sink.asFlux()
+                .filter(event -> lineNumbers.contains(event.getLineNumber()));
+
+        Flux<ServerSentEvent<MetroStreamEvent>> events = Flux.concat(snapshots, updates)
+                .map(event -> ServerSentEvent.<MetroStreamEvent>builder()
+                        .event(event.getType().toLowerCase())
+                        .data(event)
+                        .build());
+
+        // 프록시 유휴 연결 종료 방지용 주석 이벤트
+        Flux<ServerSentEvent<MetroStreamEvent>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<MetroStreamEvent>builder().comment("keepalive").build());
+
+        return Flux.merge(events, heartbeats)
+                .doOnSubscribe(subscription -> lineNumbers.forEach(line ->
+                        subscribersByLine.merge(line, 1, Integer::sum)))
+                .doFinally(signal -> lineNumbers.forEach(line ->
+                        subscribersByLine.computeIfPresent(line, (key, count) -> count > 1 ? count - 1 : null)));
+    }
+
+    /**
+     * 스케줄러 갱신 후 호출 - 노선별 마지막 전파 이후 변경분이 있는 노선만 전파
+     * 변경분의 fromSequence가 클라이언트 보유 시퀀스보다 크면 누락이 있으므로 클라이언트가 재조회
+     */
+    public void publish(Collection<String> lineNumbers, long fromSequence) {
+        if (lineNumbers == null) {
+            return;
+        }
+
+        // 구독자가 없어도 전파 시퀀스는 진행 - 이후 첫 구독자가 스냅샷보다 오래된 변경분을 받지 않도록
+        if (sink.currentSubscriberCount() == 0) {
+            long current = deltaService.getCurrentSequence();
+            lineNumbers.forEach(line -> lastPublishedSequence.put(line, current));
+            return;
+        }
+
+        int published = 0;
+        for (String line : lineNumbers) {
+            long since = lastPublishedSequence.getOrDefault(line, fromSequence);
+            TrainPositionDelta delta = deltaService.since(since, Integer.valueOf(line));
+            if (!delta.isResync() && delta.isEmpty()) {
+                continue;
+            }
+
+            // 보관 범위를 벗어났으면 노선 스냅샷으로 대체
+            MetroStreamEvent event = delta.isResync() ?
+                    toSnapshotEvent(line, metroCacheService.getLinePositions(line)) :
+                    MetroStreamEvent.builder()
+                            .type("DELTA")
+                            .lineNumber(line)
+                            .sequence(delta.getToSequence())
+                            .lastUpdated(delta.getGeneratedAt())
+                            .delta(delta)
+                            .build();
+            if (event == null) {
+                continue;
+            }
+
+            sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+            lastPublishedSequence.put(line, delta.getToSequence());
+            published++;
+        }
+
+        if (published > 0) {
+            log.debug("SSE 전파: {}개 노선, 구독자 {}명", published, sink.currentSubscriberCount());
+        }
+    }
+
+    /**
+     * 현재 SSE 구독자 수
+     */
+    public int getSubscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    /**
+     * 구독자가 있는 노선 목록
+     */
+    public Set<String> getWatchedLines() {
+        return Set.copyOf(subscribersByLine.keySet());
+    }
+
+    private MetroStreamEvent toSnapshotEvent(String line, MetroCacheService.PositionCacheData cacheData) {
+        if (cacheData == null || !metroCacheService.isCacheValid(cacheData)) {
+            return null;
+        }
+        List<TrainPosition> positions = cacheData.getPositions() != null ? cacheData.getPositions() : List.of();
+
+        return MetroStreamEvent.builder()
+                .type("SNAPSHOT")
+                .lineNumber(line)
+                .sequence(cacheData.getSequence())
+                .positions(positions)
+                .totalTrains(positions.size())
+                .lastUpdated(cacheData.getLastUpdated())
+                .build();
+    }
+}
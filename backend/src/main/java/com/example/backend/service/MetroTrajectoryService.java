@@ -0,0 +1,302 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.metro.TrainPosition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 열차 궤적 보간 서비스
+ *
+ * 노선 본선 역 순서/좌표(metro/line-stations.csv)와 연속된 스냅샷의 trainId별 역 변화로
+ * 구간 소요 시간과 방향(상행/하행 → 역 순서 증감)을 학습하고, 요청 시각 기준으로
+ * 현재 역에서 다음 역 방향으로 진행한 좌표(x, y)를 추정한다. API 호출은 늘리지 않는다.
+ */
+@Slf4j
+@Service
+public class MetroTrajectoryService {
+
+    private static final String GEOMETRY_RESOURCE = "metro/line-stations.csv";
+
+    // 다음 역 도착이 확인되기 전까지 최대 진행률
+    private static final double MAX_PROGRESS = 0.9;
+    private static final double EWMA_ALPHA = 0.3;
+    // 이보다 많은 역을 건너뛴 관측은 학습에서 제외 (누락/재배치)
+    private static final int MAX_LEARN_HOPS = 3;
+
+    @Value("${seoul.metro.trajectory.default-segment-seconds:120}")
+    private int defaultSegmentSeconds;
+
+    @Value("${seoul.metro.trajectory.max-segment-seconds:600}")
+    private int maxSegmentSeconds;
+
+    private final Map<Integer, LineGeometry> geometries = new HashMap<>();
+    private final Map<Integer, LineTimeline> timelines = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Map<Integer, List<String[]>> rowsByLine = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(GEOMETRY_RESOURCE).getInputStream(), StandardCharsets.UTF_8))) {
+            String row;
+            while ((row = reader.readLine()) != null) {
+                if (row.isBlank() || row.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = row.split(",", -1);
+                rowsByLine.computeIfAbsent(Integer.parseInt(columns[0]), key -> new ArrayList<>()).add(columns);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("노선 좌표 로드 실패 - 궤적 보간 비활성: {}", e.getMessage());
+            return;
+        }
+
+        rowsByLine.forEach((line, rows) -> geometries.put(line, new LineGeometry(rows, defaultSegmentSeconds)));
+        log.info("궤적 보간 초기화: {}개 노선, 노선별 역 수 {}", geometries.size(),
+                geometries.entrySet().stream()
+                        .map(entry -> entry.getKey() + "=" + entry.getValue().size())
+                        .toList());
+    }
+
+    /**
+     * 스케줄러 갱신 시 호출 - 노선별 타임라인 교체 및 구간 시간/방향 학습
+     */
+    public void record(Map<String, List<TrainPosition>> positionsByLine, long observedAtMillis) {
+        positionsByLine.forEach((lineKey, positions) -> {
+            Integer line = Integer.valueOf(lineKey);
+            LineGeometry geometry = geometries.get(line);
+            if (geometry == null) {
+                return;
+            }
+
+            LineTimeline previous = timelines.get(line);
+            int size = positions.size();
+            String[] trainIds = new String[size];
+            int[] stationSeq = new int[size];
+            long[] arrivedAt = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                TrainPosition train = positions.get(i);
+                trainIds[i] = train.getTrainId();
+                stationSeq[i] = geometry.resolve(train.getStationId(), train.getFrontendStationId());
+                arrivedAt[i] = observedAtMillis;
+
+                int slot = previous != null ? previous.slotOf(train.getTrainId()) : -1;
+                if (slot < 0 || stationSeq[i] < 0) {
+                    continue;
+                }
+
+                int previousSeq = previous.stationSeq[slot];
+                if (previousSeq == stationSeq[i]) {
+                    // 같은 역 - 처음 관측한 시각 유지
+                    arrivedAt[i] = previous.arrivedAt[slot];
+                } else if (previousSeq >= 0) {
+                    int hops = Math.abs(stationSeq[i] - previousSeq);
+                    if (hops <= MAX_LEARN_HOPS) {
+                        double perHop = (observedAtMillis - previous.arrivedAt[slot]) / 1000.0 / hops;
+                        geometry.learn(Math.min(previousSeq, stationSeq[i]), hops,
+                                Math.min(perHop, maxSegmentSeconds), train.getDirection(),
+                                Integer.signum(stationSeq[i] - previousSeq));
+                    }
+                }
+            }
+
+            timelines.put(line, new LineTimeline(trainIds, stationSeq, arrivedAt));
+        });
+    }
+
+    /**
+     * 요청 시각 기준 보간 좌표를 채운 새 목록 (원본 캐시 객체는 변경하지 않음)
+     */
+    public List<TrainPosition> interpolate(List<TrainPosition> positions, long nowMillis) {
+        if (positions == null || positions.isEmpty()) {
+            return List.of();
+        }
+
+        List<TrainPosition> result = new ArrayList<>(positions.size());
+        for (TrainPosition train : positions) {
+            if (train == null) {
+                continue;
+            }
+            LineGeometry geometry = train.getLineNumber() != null ? geometries.get(train.getLineNumber()) : null;
+            LineTimeline timeline = train.getLineNumber() != null ? timelines.get(train.getLineNumber()) : null;
+            int slot = timeline != null ? timeline.slotOf(train.getTrainId()) : -1;
+
+            if (geometry == null || slot < 0 || timeline.stationSeq[slot] < 0) {
+                result.add(train);
+                continue;
+            }
+
+            int seq = timeline.stationSeq[slot];
+            double x = geometry.xs[seq];
+            double y = geometry.ys[seq];
+
+            int sign = geometry.directionSign(train.getDirection());
+            int next = seq + sign;
+            if (sign != 0 && next >= 0 && next < geometry.size()) {
+                double elapsed = (nowMillis - timeline.arrivedAt[slot]) / 1000.0;
+                double progress = Math.min(MAX_PROGRESS,
+                        Math.max(0, elapsed / geometry.segmentSeconds(Math.min(seq, next))));
+                x += (geometry.xs[next] - x) * progress;
+                y += (geometry.ys[next] - y) * progress;
+            }
+
+            result.add(train.toBuilder().x(x).y(y).build());
+        }
+        return result;
+    }
+
+    /**
+     * 열차의 현재 역(0번째) + 진행 방향 다음 역들의 도착 예상 (방향 미학습 시 현재 역만)
+     */
+    public List<UpcomingStop> upcomingStops(TrainPosition train, long nowMillis, int maxStops) {
+        LineGeometry geometry = train.getLineNumber() != null ? geometries.get(train.getLineNumber()) : null;
+        LineTimeline timeline = train.getLineNumber() != null ? timelines.get(train.getLineNumber()) : null;
+        int slot = timeline != null ? timeline.slotOf(train.getTrainId()) : -1;
+        if (geometry == null || slot < 0 || timeline.stationSeq[slot] < 0) {
+            return List.of();
+        }
+
+        int seq = timeline.stationSeq[slot];
+        List<UpcomingStop> stops = new ArrayList<>(maxStops + 1);
+        stops.add(geometry.stop(seq, 0, 0));
+
+        int sign = geometry.directionSign(train.getDirection());
+        if (sign == 0) {
+            return stops;
+        }
+
+        // 현재 구간 남은 시간 + 이후 구간 소요 시간 누적
+        double elapsed = Math.max(0, (nowMillis - timeline.arrivedAt[slot]) / 1000.0);
+        double eta = 0;
+        for (int hop = 1, next = seq + sign; hop <= maxStops && next >= 0 && next < geometry.size(); hop++, next += sign) {
+            double segment = geometry.segmentSeconds(Math.min(next, next - sign));
+            eta = hop == 1 ? Math.max(segment * (1 - MAX_PROGRESS), segment - elapsed) : eta + segment;
+            stops.add(geometry.stop(next, hop, (int) Math.round(eta)));
+        }
+        return stops;
+    }
+
+    /**
+     * 노선 본선에 있는 역 ID(API) 또는 역명인지
+     */
+    public boolean hasStation(String stationKey) {
+        return stationKey != null && geometries.values().stream()
+                .anyMatch(geometry -> geometry.resolve(stationKey, stationKey) >= 0);
+    }
+
+    /**
+     * 도착 예상 역 (stopsAway: 남은 역 수, etaSeconds: 도착까지 예상 초 - 현재 역은 0)
+     */
+    public record UpcomingStop(String stationName, List<String> stationIds, int stopsAway, int etaSeconds) {
+    }
+
+    /**
+     * 노선 본선 역 순서/좌표 + 학습된 구간 시간/방향
+     */
+    private static final class LineGeometry {
+        private final String[] names;
+        private final List<List<String>> apiIds = new ArrayList<>();
+        private final double[] xs;
+        private final double[] ys;
+        private final Map<String, Integer> seqByApiId = new HashMap<>();
+        private final Map<String, Integer> seqByName = new HashMap<>();
+
+        // 구간 i = 역 i ↔ 역 i+1 소요 시간(초), 방향 문자열별 역 순서 증감 투표
+        private final double[] segmentSeconds;
+        private final Map<String, Integer> directionVotes = new HashMap<>();
+
+        LineGeometry(List<String[]> rows, int defaultSegmentSeconds) {
+            rows.sort(Comparator.comparingInt(columns -> Integer.parseInt(columns[1])));
+            names = new String[rows.size()];
+            xs = new double[rows.size()];
+            ys = new double[rows.size()];
+            for (int seq = 0; seq < rows.size(); seq++) {
+                String[] columns = rows.get(seq);
+                names[seq] = columns[2];
+                seqByName.put(columns[2], seq);
+                xs[seq] = Double.parseDouble(columns[3]);
+                ys[seq] = Double.parseDouble(columns[4]);
+                List<String> ids = new ArrayList<>();
+                for (String apiId : columns[5].split(";")) {
+                    if (!apiId.isBlank()) {
+                        seqByApiId.put(apiId, seq);
+                        ids.add(apiId);
+                    }
+                }
+                apiIds.add(List.copyOf(ids));
+            }
+            segmentSeconds = new double[Math.max(0, rows.size() - 1)];
+            Arrays.fill(segmentSeconds, defaultSegmentSeconds);
+        }
+
+        int size() {
+            return xs.length;
+        }
+
+        UpcomingStop stop(int seq, int stopsAway, int etaSeconds) {
+            return new UpcomingStop(names[seq], apiIds.get(seq), stopsAway, etaSeconds);
+        }
+
+        // API 역 ID 우선, 없으면 프론트엔드 역명
+        int resolve(String stationId, String stationName) {
+            Integer seq = stationId != null ? seqByApiId.get(stationId) : null;
+            if (seq == null && stationName != null) {
+                seq = seqByName.get(stationName);
+            }
+            return seq != null ? seq : -1;
+        }
+
+        synchronized void learn(int fromSeq, int hops, double secondsPerHop, String direction, int sign) {
+            for (int i = fromSeq; i < fromSeq + hops && i < segmentSeconds.length; i++) {
+                segmentSeconds[i] += EWMA_ALPHA * (secondsPerHop - segmentSeconds[i]);
+            }
+            if (direction != null) {
+                directionVotes.merge(direction, sign, Integer::sum);
+            }
+        }
+
+        synchronized double segmentSeconds(int segment) {
+            return Math.max(1.0, segmentSeconds[segment]);
+        }
+
+        // 학습 전이면 0 (보간하지 않고 역 좌표 그대로)
+        synchronized int directionSign(String direction) {
+            return direction != null ? Integer.signum(directionVotes.getOrDefault(direction, 0)) : 0;
+        }
+    }
+
+    /**
+     * 노선별 열차 타임라인 (스냅샷마다 통째로 교체되는 불변 배열)
+     */
+    private static final class LineTimeline {
+        private final int[] stationSeq;
+        private final long[] arrivedAt;
+        private final Map<String, Integer> slots;
+
+        LineTimeline(String[] trainIds, int[] stationSeq, long[] arrivedAt) {
+            this.stationSeq = stationSeq;
+            this.arrivedAt = arrivedAt;
+            this.slots = new HashMap<>(trainIds.length * 2);
+            for (int i = 0; i < trainIds.length; i++) {
+                if (trainIds[i] != null) {
+                    slots.put(trainIds[i], i);
+                }
+            }
+        }
+
+        int slotOf(String trainId) {
+            Integer slot = trainId != null ? slots.get(trainId) : null;
+            return slot != null ? slot : -1;
+        }
+    }
+}
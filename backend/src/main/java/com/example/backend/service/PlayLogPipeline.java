@@ -0,0 +1,251 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.LogO;
+import com.example.backend.entity.OpsLogB;
+import com.example.backend.repository.CharacterRepository;
+import com.example.backend.repository.LogORepository;
+import com.example.backend.repository.OpsLogBRepository;
+import com.example.backend.repository.OptionsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플레이 분석 로그(OPS_LOGB) / 선택 로그(LOG_OPS) 비동기 일괄 기록
+ *
+ * 선택 처리 요청은 이벤트를 고정 크기 큐에 넣기만 하고, 전용 쓰기 스레드가
+ * 건수(batch-size) 또는 시간(flush-interval) 기준으로 묶어 한 트랜잭션에서 저장한다.
+ * (hibernate.jdbc.batch_size/order_inserts 설정으로 INSERT가 JDBC 배치로 전송됨)
+ * - 큐가 가득 차면 이벤트를 버리고 dropped로 집계 (게임 진행을 막지 않음)
+ * - 저장 실패 시 해당 묶음은 failed로 집계 후 폐기
+ * - flush(): 그 시점까지 들어온 이벤트가 저장될 때까지 대기 (게임 종료 시 로그 연결 전 호출)
+ * 지표: behindy.playlog.queue.size, behindy.playlog.events{result=enqueued|dropped|written|failed},
+ *       behindy.playlog.flush (묶음 저장 시간)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlayLogPipeline {
+
+    private static final long FLUSH_WAIT_SECONDS = 5;
+
+    private final OpsLogBRepository opsLogBRepository;
+    private final LogORepository logORepository;
+    private final CharacterRepository characterRepository;
+    private final OptionsRepository optionsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${behindy.game.play-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${behindy.game.play-log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${behindy.game.play-log.flush-interval:1000}")
+    private long flushIntervalMillis;
+
+    private BlockingQueue<PlayLogEvent> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private Counter enqueuedCounter;
+    private Counter droppedCounter;
+    private Counter writtenCounter;
+    private Counter failedCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("behindy.playlog.queue.size", queue, BlockingQueue::size)
+                .description("저장 대기 중인 플레이 로그 이벤트 수")
+                .register(meterRegistry);
+        enqueuedCounter = eventCounter("enqueued");
+        droppedCounter = eventCounter("dropped");
+        writtenCounter = eventCounter("written");
+        failedCounter = eventCounter("failed");
+        flushTimer = Timer.builder("behindy.playlog.flush")
+                .description("플레이 로그 묶음 저장 시간")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::runWriter, "play-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("플레이 로그 파이프라인 시작: 큐 {}건, 묶음 {}건/{}ms", queueCapacity, batchSize, flushIntervalMillis);
+    }
+
+    /**
+     * 페이지 체류 로그 (OPS_LOGB, 게임 종료 로그와는 종료 시 연결)
+     */
+    public void recordPlay(long charId, long pageId, long optionId, long durationMs) {
+        enqueue(new PlayLogEvent(EventType.PLAY, charId, pageId, optionId, durationMs, null));
+    }
+
+    /**
+     * 선택 로그 (LOG_OPS)
+     */
+    public void recordChoice(long charId, long optionId) {
+        enqueue(new PlayLogEvent(EventType.CHOICE, charId, 0, optionId, 0, null));
+    }
+
+    /**
+     * 지금까지 큐에 들어온 이벤트가 저장될 때까지 대기 (최대 FLUSH_WAIT_SECONDS)
+     */
+    public void flush() {
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        try {
+            if (!running || !queue.offer(new PlayLogEvent(EventType.BARRIER, 0, 0, 0, 0, barrier),
+                    FLUSH_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("플레이 로그 flush 요청 실패 - 대기 없이 진행 (대기 {}건)", queue.size());
+                return;
+            }
+            barrier.get(FLUSH_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("플레이 로그 flush 대기 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 쓰기 스레드는 진행 중인 묶음을 저장한 뒤 종료
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(flushIntervalMillis * 2 + TimeUnit.SECONDS.toMillis(FLUSH_WAIT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 남은 이벤트 저장
+        List<PlayLogEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+    }
+
+    private void enqueue(PlayLogEvent event) {
+        if (queue.offer(event)) {
+            enqueuedCounter.increment();
+            return;
+        }
+
+        droppedCounter.increment();
+        // 큐 포화 시 로그 폭주 방지 - 1000건마다 1회
+        if ((long) droppedCounter.count() % 1000 == 1) {
+            log.warn("플레이 로그 큐 포화 - 이벤트 폐기 (누적 {}건)", (long) droppedCounter.count());
+        }
+    }
+
+    private void runWriter() {
+        List<PlayLogEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PlayLogEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // 첫 이벤트 이후 flush-interval 동안 batch-size까지 모음 (flush 요청이 오면 즉시 저장)
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize && first.type() != EventType.BARRIER) {
+                    long waitMillis = deadline - System.currentTimeMillis();
+                    PlayLogEvent next = waitMillis > 0 ? queue.poll(waitMillis, TimeUnit.MILLISECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    if (next.type() == EventType.BARRIER) {
+                        break;
+                    }
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                write(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("플레이 로그 쓰기 스레드 오류: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PlayLogEvent> batch) {
+        List<PlayLogEvent> events = batch.stream()
+                .filter(event -> event.type() != EventType.BARRIER)
+                .toList();
+
+        if (!events.isEmpty()) {
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    List<OpsLogB> playLogs = new ArrayList<>();
+                    List<LogO> choiceLogs = new ArrayList<>();
+                    for (PlayLogEvent event : events) {
+                        if (event.type() == EventType.PLAY) {
+                            playLogs.add(OpsLogB.builder()
+                                    .character(characterRepository.getReferenceById(event.charId()))
+                                    .loge(null)  // 게임 종료 시 연결
+                                    .logbPage(event.pageId())
+                                    .logbOpt(event.optionId())
+                                    .logbDur(event.durationMs())
+                                    .build());
+                        } else {
+                            choiceLogs.add(LogO.builder()
+                                    .character(characterRepository.getReferenceById(event.charId()))
+                                    .options(optionsRepository.getReferenceById(event.optionId()))
+                                    .build());
+                        }
+                    }
+                    opsLogBRepository.saveAll(playLogs);
+                    logORepository.saveAll(choiceLogs);
+                }));
+                writtenCounter.increment(events.size());
+            } catch (Exception e) {
+                failedCounter.increment(events.size());
+                log.error("플레이 로그 저장 실패 - {}건 폐기: {}", events.size(), e.getMessage());
+            }
+        }
+
+        batch.stream()
+                .filter(event -> event.type() == EventType.BARRIER)
+                .forEach(event -> event.barrier().complete(null));
+    }
+
+    private Counter eventCounter(String result) {
+        return Counter.builder("behindy.playlog.events")
+                .description("플레이 로그 이벤트 처리 건수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private enum EventType {
+        PLAY, CHOICE, BARRIER
+    }
+
+    private record PlayLogEvent(EventType type, long charId, long pageId, long optionId, long durationMs,
+                                CompletableFuture<Void> barrier) {
+    }
+}
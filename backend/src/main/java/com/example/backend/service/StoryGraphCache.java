@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Options;
+import com.example.backend.entity.Page;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.OptionsRepository;
+import com.example.backend.repository.PageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 스토리 페이지 그래프 캐시
+ *
+ * 스토리 내용(페이지/선택지)은 생성 후 바뀌지 않으므로, 처음 접근할 때 스토리 단위로
+ * 페이지(번호 순) → 선택지 구조를 한 번에 읽어 메모리에 불변 그래프로 보관한다.
+ * 선택 처리/페이지 응답 변환은 PAGE/OPTIONS 테이블 대신 이 그래프를 사용한다.
+ * - 로드: 페이지 1회 + 선택지 1회 조회
+ * - 무효화: 스토리 저장(AIStoryScheduler)/삭제(StoryService) 시, 트랜잭션 커밋 후 한 번 더 제거
+ *   (커밋 전 다른 요청이 이전 내용을 다시 적재하는 경우 방지)
+ * - 노드별 로컬 캐시 (삭제된 스토리는 게임 시작 단계에서 Story 조회로 걸러짐)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoryGraphCache {
+
+    private final PageRepository pageRepository;
+    private final OptionsRepository optionsRepository;
+
+    private final Map<Long, StoryGraph> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * 스토리 그래프 조회 (없으면 DB에서 적재, 페이지가 없는 스토리는 캐시하지 않음)
+     */
+    public StoryGraph getStory(long storyId) {
+        StoryGraph graph = graphs.get(storyId);
+        if (graph != null) {
+            return graph;
+        }
+
+        graph = load(storyId);
+        if (graph.totalPages() == 0) {
+            throw new ResourceNotFoundException("Story Page", "storyId", storyId);
+        }
+        StoryGraph existing = graphs.putIfAbsent(storyId, graph);
+        return existing != null ? existing : graph;
+    }
+
+    /**
+     * 페이지 노드 조회 (캐시된 그래프에 없으면 한 번 다시 적재)
+     */
+    public PageNode getPage(long storyId, long pageId) {
+        PageNode page = getStory(storyId).page(pageId);
+        if (page == null) {
+            graphs.remove(storyId);
+            page = getStory(storyId).page(pageId);
+        }
+        if (page == null) {
+            throw new ResourceNotFoundException("Page", "id", pageId);
+        }
+        return page;
+    }
+
+    /**
+     * 스토리 변경 시 그래프 제거 (트랜잭션 안이면 커밋 후 한 번 더 제거)
+     */
+    public void invalidate(long storyId) {
+        graphs.remove(storyId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    graphs.remove(storyId);
+                }
+            });
+        }
+        log.debug("스토리 그래프 캐시 무효화: storyId={}", storyId);
+    }
+
+    private StoryGraph load(long storyId) {
+        List<Page> pages = pageRepository.findByStoIdOrderByPageNumber(storyId);
+        if (pages.isEmpty()) {
+            return new StoryGraph(storyId, List.of(), Map.of(), Map.of(), Map.of());
+        }
+
+        Map<Long, List<OptionNode>> optionsByPage = optionsRepository
+                .findByPageIdIn(pages.stream().map(Page::getPageId).toList()).stream()
+                .map(OptionNode::from)
+                .collect(Collectors.groupingBy(OptionNode::pageId));
+
+        List<PageNode> ordered = new ArrayList<>(pages.size());
+        Map<Long, PageNode> byId = new HashMap<>();
+        Map<Long, PageNode> byNumber = new HashMap<>();
+        Map<Long, OptionNode> optionsById = new HashMap<>();
+        for (Page page : pages) {
+            List<OptionNode> options = List.copyOf(optionsByPage.getOrDefault(page.getPageId(), List.of()));
+            PageNode node = new PageNode(page.getPageId(), page.getStoId(), page.getPageNumber(),
+                    page.getPageContents(), options);
+            ordered.add(node);
+            byId.put(node.pageId(), node);
+            byNumber.put(node.pageNumber(), node);
+            options.forEach(option -> optionsById.put(option.optId(), option));
+        }
+
+        log.debug("스토리 그래프 적재: storyId={}, 페이지 {}개, 선택지 {}개", storyId, ordered.size(), optionsById.size());
+        return new StoryGraph(storyId, List.copyOf(ordered), Map.copyOf(byId), Map.copyOf(byNumber),
+                Map.copyOf(optionsById));
+    }
+
+    /**
+     * 스토리 1개의 불변 페이지 그래프
+     */
+    public record StoryGraph(long storyId, List<PageNode> pages, Map<Long, PageNode> pagesById,
+                             Map<Long, PageNode> pagesByNumber, Map<Long, OptionNode> optionsById) {
+
+        public int totalPages() {
+            return pages.size();
+        }
+
+        public PageNode page(long pageId) {
+            return pagesById.get(pageId);
+        }
+
+        public Optional<PageNode> pageByNumber(long pageNumber) {
+            return Optional.ofNullable(pagesByNumber.get(pageNumber));
+        }
+
+        public Optional<PageNode> nextPage(PageNode page) {
+            return pageByNumber(page.pageNumber() + 1);
+        }
+
+        public boolean isLastPage(PageNode page) {
+            return !pagesByNumber.containsKey(page.pageNumber() + 1);
+        }
+
+        public OptionNode option(long optionId) {
+            return optionsById.get(optionId);
+        }
+    }
+
+    public record PageNode(long pageId, long stoId, long pageNumber, String contents, List<OptionNode> options) {
+    }
+
+    public record OptionNode(long optId, long pageId, String contents, String effect, int amount, Long nextPageId) {
+
+        static OptionNode from(Options option) {
+            return new OptionNode(option.getOptId(), option.getPageId(), option.getOptContents(),
+                    option.getOptEffect(), option.getOptAmount(), option.getNextPageId());
+        }
+    }
+}
@@ -34,6 +34,7 @@ public class StoryService {
     private final AuthService authService;
     private final CharacterService characterService;
     private final EntityDtoMapper entityDtoMapper;
+    private final StoryGraphCache storyGraphCache;
 
     /**
      * 특정 역의 미완료 스토리 조회 (게임 진입 시 사용)
@@ -343,6 +344,7 @@ public class StoryService {
         }
 
         storyRepository.delete(story);
+        storyGraphCache.invalidate(storyId);
         log.info("스토리 삭제: storyId={}, title={}", storyId, story.getStoTitle());
     }
 
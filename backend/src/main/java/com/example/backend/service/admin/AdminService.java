@@ -4,6 +4,8 @@ import com.example.backend.dto.admin.AdminStatsDTO;
 import com.example.backend.dto.admin.AdminUserDTO;
 import com.example.backend.entity.User;
 import com.example.backend.repository.*;
+import com.example.backend.security.user.RequestIdentity;
+import com.example.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +30,7 @@ import java.util.stream.Collectors;
 public class AdminService {
 
     private final UserRepository userRepository;
+    private final AuthService authService;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final StoryRepository storyRepository;
@@ -133,7 +137,19 @@ public class AdminService {
      * 관리자 권한 확인
      */
     public boolean isAdmin(User user) {
-        return user != null && user.getRole() != null
+        if (user == null) {
+            return false;
+        }
+
+        // 현재 요청 사용자면 필터에서 확인한 권한 사용 (USER 조회 없음)
+        Optional<String> requestRole = authService.currentIdentity()
+                .filter(identity -> identity.getUserId().equals(user.getUserId()))
+                .map(RequestIdentity::getRole);
+        if (requestRole.isPresent()) {
+            return requestRole.get().equals("ROLE_ADMIN");
+        }
+
+        return user.getRole() != null
                 && user.getRole().name().equals("ROLE_ADMIN");
     }
 }
@@ -10,10 +10,10 @@ import com.example.backend.entity.*;
 import com.example.backend.entity.Character;
 import com.example.backend.repository.CommentLikeRepository;
 import com.example.backend.repository.NowRepository;
-import com.example.backend.repository.OptionsRepository;
-import com.example.backend.repository.PageRepository;
 import com.example.backend.repository.PostStatsRepository;
 import com.example.backend.security.user.CustomUserDetails;
+import com.example.backend.service.GameSessionStore;
+import com.example.backend.service.StoryGraphCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -39,8 +39,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EntityDtoMapper {
 
-    private final OptionsRepository optionsRepository;
-    private final PageRepository pageRepository;
+    private final StoryGraphCache storyGraphCache;
+    private final GameSessionStore gameSessionStore;
     private final NowRepository nowRepository;
     private final PostStatsRepository postStatsRepository;
     private final CommentLikeRepository commentLikeRepository;
@@ -133,9 +133,11 @@ public class EntityDtoMapper {
             return null;
         }
 
-        boolean isAlive = !character.isDeleted();
-        boolean isDying = isAlive && (character.getCharHealth() <= 20 || character.getCharSanity() <= 20);
-        String statusMessage = getCharacterStatusMessage(character);
+        // 진행 중인 게임의 최신 체력/정신력은 세션 저장소 우선 (NOW/CHARACTER는 체크포인트 시 반영)
+        Optional<GameSessionStore.SessionState> session = gameSessionStore.find(character.getCharId());
+        if (session.isPresent()) {
+            return toCharacterResponse(character, session.get());
+        }
 
         // 게임 진행 상태 확인
         boolean hasGameProgress = false;
@@ -151,11 +153,35 @@ public class EntityDtoMapper {
             // Silently handle game progress check errors
         }
 
+        return buildCharacterResponse(character, character.getCharHealth(), character.getCharSanity(),
+                hasGameProgress, currentStoryId);
+    }
+
+    /**
+     * Character + 진행 중 세션 상태 → CharacterResponse 변환 (NOW 조회 없음)
+     */
+    public CharacterResponse toCharacterResponse(com.example.backend.entity.Character character,
+                                                 GameSessionStore.SessionState session) {
+        if (character == null) {
+            return null;
+        }
+
+        return buildCharacterResponse(character, session.getHealth(), session.getSanity(),
+                true, session.getStoryId());
+    }
+
+    private CharacterResponse buildCharacterResponse(com.example.backend.entity.Character character,
+                                                     int health, int sanity,
+                                                     boolean hasGameProgress, Long currentStoryId) {
+        boolean isAlive = !character.isDeleted();
+        boolean isDying = isAlive && (health <= 20 || sanity <= 20);
+        String statusMessage = getCharacterStatusMessage(character.isDeleted(), health, sanity);
+
         return CharacterResponse.builder()
                 .charId(character.getCharId())
                 .charName(character.getCharName())
-                .charHealth(character.getCharHealth())
-                .charSanity(character.getCharSanity())
+                .charHealth(health)
+                .charSanity(sanity)
                 .isAlive(isAlive)
                 .isDying(isDying)
                 .statusMessage(statusMessage)
@@ -201,31 +227,36 @@ public class EntityDtoMapper {
     /**
      * Page → PageResponse 변환
      * 기존: GameService.createPageResponse() 대체
+     * 선택지/전체 페이지 수/마지막 페이지 여부는 StoryGraphCache에서 조회
      */
     public PageResponse toPageResponse(Page page) {
         if (page == null) {
             return null;
         }
 
-        List<Options> options = optionsRepository.findByPageId(page.getPageId());
-        List<OptionResponse> optionResponses = options.stream()
-                .map(this::toOptionResponse)
-                .collect(Collectors.toList());
+        StoryGraphCache.StoryGraph story = storyGraphCache.getStory(page.getStoId());
+        return toPageResponse(story, storyGraphCache.getPage(page.getStoId(), page.getPageId()));
+    }
 
-        // 전체 페이지 수 조회
-        Long totalPages = pageRepository.countPagesByStoryId(page.getStoId());
+    /**
+     * 캐시된 페이지 노드 → PageResponse 변환
+     */
+    public PageResponse toPageResponse(StoryGraphCache.StoryGraph story, StoryGraphCache.PageNode page) {
+        if (page == null) {
+            return null;
+        }
 
-        // 마지막 페이지 여부 확인
-        long nextPageNumber = page.getPageNumber() + 1;
-        boolean isLastPage = !pageRepository.existsNextPage(page.getStoId(), nextPageNumber);
+        List<OptionResponse> optionResponses = page.options().stream()
+                .map(this::toOptionResponse)
+                .collect(Collectors.toList());
 
         return PageResponse.builder()
-                .pageId(page.getPageId())
-                .pageNumber(page.getPageNumber())
-                .content(page.getPageContents())
+                .pageId(page.pageId())
+                .pageNumber(page.pageNumber())
+                .content(page.contents())
                 .options(optionResponses)
-                .isLastPage(isLastPage)
-                .totalPages(totalPages.intValue())
+                .isLastPage(story.isLastPage(page))
+                .totalPages(story.totalPages())
                 .build();
     }
 
@@ -242,7 +273,24 @@ public class EntityDtoMapper {
                 .content(option.getOptContents())
                 .effect(option.getOptEffect())
                 .amount(option.getOptAmount())
-                .effectPreview(createEffectPreview(option))
+                .effectPreview(createEffectPreview(option.getOptEffect(), option.getOptAmount()))
+                .build();
+    }
+
+    /**
+     * 캐시된 선택지 노드 → OptionResponse 변환
+     */
+    public OptionResponse toOptionResponse(StoryGraphCache.OptionNode option) {
+        if (option == null) {
+            return null;
+        }
+
+        return OptionResponse.builder()
+                .optionId(option.optId())
+                .content(option.contents())
+                .effect(option.effect())
+                .amount(option.amount())
+                .effectPreview(createEffectPreview(option.effect(), option.amount()))
                 .build();
     }
 
@@ -282,20 +330,20 @@ public class EntityDtoMapper {
     /**
      * 캐릭터 상태 메시지 생성
      */
-    private String getCharacterStatusMessage(Character character) {
-        if (character.isDeleted()) {
+    private String getCharacterStatusMessage(boolean deleted, int health, int sanity) {
+        if (deleted) {
             return "사망";
         }
 
-        if (character.getCharHealth() <= 0 || character.getCharSanity() <= 0) {
+        if (health <= 0 || sanity <= 0) {
             return "위험 - 즉시 치료 필요";
         }
 
-        if (character.getCharHealth() <= 20 || character.getCharSanity() <= 20) {
+        if (health <= 20 || sanity <= 20) {
             return "주의 - 상태가 좋지 않음";
         }
 
-        if (character.getCharHealth() >= 80 && character.getCharSanity() >= 80) {
+        if (health >= 80 && sanity >= 80) {
             return "건강";
         }
 
@@ -392,13 +440,12 @@ public class EntityDtoMapper {
     /**
      * 선택지 효과 미리보기 생성
      */
-    private String createEffectPreview(Options option) {
-        if (option.getOptEffect() == null || option.getOptAmount() == 0) {
+    private String createEffectPreview(String effect, int amount) {
+        if (effect == null || amount == 0) {
             return null;
         }
 
-        String effectType = option.getOptEffect().toLowerCase();
-        int amount = option.getOptAmount();
+        String effectType = effect.toLowerCase();
 
         return switch (effectType) {
             case "health" -> amount > 0 ?
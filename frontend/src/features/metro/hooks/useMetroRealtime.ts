@@ -1,12 +1,81 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { apiErrorHandler } from '@/shared/utils/common/api';
 import { generateMockMetroData, shouldUseMockData } from '../utils/mockMetroData';
 import type { MetroApiResponse, UseMetroRealtimeReturn } from '../types/metroMapTypes';
 
+type MetroData = MetroApiResponse['data'];
+
+type TrainData = MetroData['positions'][number];
+
+interface TrainPositionDelta {
+  fromSequence: number;
+  toSequence: number;
+  resync: boolean;
+  moved: TrainData[];
+  appeared: TrainData[];
+  disappeared: string[];
+}
+
+interface MetroStreamEvent {
+  type: 'SNAPSHOT' | 'DELTA';
+  lineNumber: string;
+  sequence: number | null;
+  positions?: TrainData[];
+  totalTrains?: number;
+  lastUpdated: string;
+  delta?: TrainPositionDelta;
+}
+
+interface LineState {
+  lineNumber: string;
+  sequence: number;
+  positions: TrainData[];
+  lastUpdated: string;
+}
+
+// 노선 상태에 변경분 적용 (trainId 기준 upsert/삭제)
+const applyDelta = (state: LineState, event: MetroStreamEvent, delta: TrainPositionDelta): LineState => {
+  const trains = new Map(state.positions.map(train => [train.trainId, train]));
+  delta.disappeared.forEach(trainId => trains.delete(trainId));
+  [...delta.moved, ...delta.appeared].forEach(train => trains.set(train.trainId, train));
+
+  return {
+    lineNumber: state.lineNumber,
+    sequence: delta.toSequence,
+    positions: Array.from(trains.values()),
+    lastUpdated: event.lastUpdated,
+  };
+};
+
+// SSE로 받은 노선별 데이터를 기존 응답 형태로 합치기
+const mergeLineStates = (lines: Map<string, LineState>): MetroData => {
+  const states = Array.from(lines.values());
+  const positions = states.flatMap(state => state.positions);
+  const lineStatistics: Record<string, number> = {};
+  states.forEach(state => {
+    lineStatistics[state.lineNumber] = state.positions.length;
+  });
+  const lastUpdated = states
+    .map(state => state.lastUpdated)
+    .sort()
+    .pop() ?? new Date().toISOString();
+
+  return {
+    positions,
+    totalTrains: positions.length,
+    lineStatistics,
+    lastUpdated,
+    dataSource: 'API',
+    systemStatus: 'HEALTHY',
+    isRealtime: true,
+  };
+};
+
 export const useMetroRealtime = (intervalMs: number = 30000): UseMetroRealtimeReturn => {
   const [data, setData] = useState<MetroApiResponse['data'] | null>(null);
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  const linesRef = useRef<Map<string, LineState>>(new Map());
 
   const fetchData = async () => {
     try {
@@ -61,11 +130,91 @@ export const useMetroRealtime = (intervalMs: number = 30000): UseMetroRealtimeRe
   };
 
   useEffect(() => {
+    // 최초 1회는 REST로 즉시 표시 (캐시 미스 시 Mock 폴백 포함)
     fetchData();
-    const interval = setInterval(fetchData, intervalMs);
 
-    return () => clearInterval(interval);
+    let interval: ReturnType<typeof setInterval> | null = null;
+    const startPolling = () => {
+      if (!interval) {
+        interval = setInterval(fetchData, intervalMs);
+      }
+    };
+
+    if (typeof EventSource === 'undefined') {
+      startPolling();
+      return () => {
+        if (interval) clearInterval(interval);
+      };
+    }
+
+    // SSE 구독: 접속 시 노선별 스냅샷, 이후 서버 갱신 시점에 변경분만 수신
+    const source = new EventSource('/api/metro/stream');
+
+    // 누락된 변경분이 있으면 해당 노선만 REST로 재조회
+    const resyncLine = async (lineNumber: string) => {
+      try {
+        const response = await fetch(`/api/metro/positions/${lineNumber}`);
+        const result: MetroApiResponse & { data: { sequence?: number } } = await response.json();
+        if (result.success && result.data) {
+          linesRef.current.set(lineNumber, {
+            lineNumber,
+            sequence: result.data.sequence ?? 0,
+            positions: result.data.positions,
+            lastUpdated: result.data.lastUpdated,
+          });
+          setData(mergeLineStates(linesRef.current));
+        }
+      } catch (err) {
+        console.error('Metro line resync error:', err);
+      }
+    };
+
+    const handleLineEvent = (message: MessageEvent) => {
+      try {
+        const event: MetroStreamEvent = JSON.parse(message.data);
+        const current = linesRef.current.get(event.lineNumber);
+
+        if (event.type === 'DELTA' && event.delta) {
+          if (!current || event.delta.fromSequence > current.sequence) {
+            resyncLine(event.lineNumber);
+            return;
+          }
+          linesRef.current.set(event.lineNumber, applyDelta(current, event, event.delta));
+        } else {
+          linesRef.current.set(event.lineNumber, {
+            lineNumber: event.lineNumber,
+            sequence: event.sequence ?? 0,
+            positions: event.positions ?? [],
+            lastUpdated: event.lastUpdated,
+          });
+        }
+
+        setData(mergeLineStates(linesRef.current));
+        setError(null);
+      } catch (err) {
+        console.error('Metro stream event parse error:', err);
+      }
+    };
+
+    source.addEventListener('snapshot', handleLineEvent);
+    source.addEventListener('delta', handleLineEvent);
+    source.onopen = () => {
+      // 스트림 연결 중에는 폴링 중단
+      if (interval) {
+        clearInterval(interval);
+        interval = null;
+      }
+    };
+    source.onerror = () => {
+      // EventSource는 자동 재접속, 그 사이에는 폴링으로 보완
+      startPolling();
+    };
+
+    return () => {
+      source.close();
+      if (interval) clearInterval(interval);
+    };
   }, [intervalMs]);
 
   return { data, isLoading, error, refreshData: fetchData };
-};
\ No newline at end of file
+};